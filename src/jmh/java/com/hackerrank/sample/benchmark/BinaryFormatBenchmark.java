@@ -0,0 +1,78 @@
+package com.hackerrank.sample.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hackerrank.sample.dto.PaginatedResponse;
+import com.hackerrank.sample.dto.ProductResponse;
+import com.hackerrank.sample.model.Product.Condition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Encoding and decoding a {@code GET /products} page as JSON, CBOR and Smile, with mappers built the way
+ * {@code BinaryFormatsConfig} builds the converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final TypeReference<PaginatedResponse<ProductResponse>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private PaginatedResponse<ProductResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        final JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        final var mapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        writer = mapper.writerFor(PAGE_TYPE);
+        reader = mapper.readerFor(PAGE_TYPE);
+
+        final var content = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new ProductResponse(
+                        id, "Product " + id, "The latest model with titanium body", new BigDecimal("1250.50"), 50,
+                        Condition.NEW,
+                        List.of("https://cdn.example.com/" + id + "-a.jpg", "https://cdn.example.com/" + id + "-b.jpg"),
+                        new ProductResponse.SellerInfo("Apple Official Store", 4.8),
+                        new ProductResponse.ShippingInfo(new BigDecimal("15.00"), "Arrives by Friday"), 0L))
+                .toList();
+        page = new PaginatedResponse<>(content, 100_000, 100_000 / pageSize, 0, pageSize);
+        encoded = writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PaginatedResponse<ProductResponse> decodePage() throws Exception {
+        return reader.readValue(encoded);
+    }
+}
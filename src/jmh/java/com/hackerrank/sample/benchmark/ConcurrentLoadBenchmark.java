@@ -0,0 +1,93 @@
+package com.hackerrank.sample.benchmark;
+
+import com.hackerrank.sample.Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput of {@code GET /products} (count, page and image queries through the connection
+ * pool) with {@value #CONNECTIONS} clients in flight at once, served either by Tomcat's platform-thread
+ * pool or by virtual threads. Each operation is one request, so the score reads as requests per second.
+ * Client and server share the JVM, so compare the two modes with each other rather than with production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ConcurrentLoadBenchmark {
+
+    private static final int CONNECTIONS = 5_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Command-line arguments, unlike default properties, take precedence over application.properties
+        context = SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.max-connections=" + CONNECTIONS * 2,
+                "--server.tomcat.accept-count=" + CONNECTIONS,
+                "--rate.limit.capacity=1000000000",
+                "--rate.limit.tokens=1000000000",
+                "--jwt.secret=benchmark_secret_key_for_jwt_256_bits_standard",
+                "--spring.datasource.url=jdbc:h2:mem:load-benchmark",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN");
+
+        final var port = context.getEnvironment().getProperty("local.server.port");
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clients)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products?size=10")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        clients.close();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONNECTIONS)
+    public int concurrentRequests() throws Exception {
+        final var responses = new ArrayList<Future<Integer>>(CONNECTIONS);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            responses.add(clients.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+
+        int failed = 0;
+        for (final var response : responses) {
+            if (response.get() != 200) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " of " + CONNECTIONS + " requests failed");
+        }
+        return CONNECTIONS;
+    }
+}
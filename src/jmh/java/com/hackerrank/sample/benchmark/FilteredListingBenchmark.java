@@ -0,0 +1,82 @@
+package com.hackerrank.sample.benchmark;
+
+import com.hackerrank.sample.Application;
+import com.hackerrank.sample.dto.ProductFilter;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered listings over a {@code rows}-product catalog: price varies with every row, half the catalog is
+ * NEW and there are 1000 sellers. The offset variants include the COUNT query behind {@code totalElements};
+ * the cursor variant shows the cost without it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FilteredListingBenchmark {
+
+    private static final ProductFilter NEW_IN_PRICE_RANGE = new ProductFilter(
+            new BigDecimal("100.00"), new BigDecimal("110.00"), Condition.NEW, null, true);
+    private static final ProductFilter SELLER = new ProductFilter(null, null, null, "Seller 42", null);
+
+    @Param({"1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Command-line arguments, unlike default properties, take precedence over application.properties
+        context = SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--jwt.secret=benchmark_secret_key_for_jwt_256_bits_standard",
+                "--spring.datasource.url=jdbc:h2:mem:filter-benchmark",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN");
+        productService = context.getBean(ProductService.class);
+
+        final var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("""
+                INSERT INTO products (title, price, stock, condition, seller_name, shipping_cost, estimated_delivery)
+                SELECT 'Product ' || X, MOD(X * 7919, 100000) / 100.0 + 1, MOD(X, 20),
+                       CASEWHEN(MOD(X, 2) = 0, 'NEW', 'USED'), 'Seller ' || MOD(X, 1000), 0, 'Tomorrow'
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(rows));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object offsetByConditionAndPrice() {
+        return productService.getAllProducts(NEW_IN_PRICE_RANGE, PageRequest.of(0, 20, Sort.by("price")));
+    }
+
+    @Benchmark
+    public Object offsetBySeller() {
+        return productService.getAllProducts(SELLER, PageRequest.of(0, 20, Sort.by("price")));
+    }
+
+    @Benchmark
+    public Object cursorByConditionAndPrice() {
+        return productService.getProductsAfter("", 20, Sort.by("price"), NEW_IN_PRICE_RANGE);
+    }
+}
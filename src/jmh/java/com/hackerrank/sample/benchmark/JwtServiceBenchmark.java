@@ -0,0 +1,57 @@
+package com.hackerrank.sample.benchmark;
+
+import com.hackerrank.sample.config.JwtProperties;
+import com.hackerrank.sample.service.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost: the legacy path (new parser, full HMAC verification and JSON
+ * parsing on every call) against {@link JwtService#extractUsername} with its verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_for_jwt_256_bits_standard";
+
+    private JwtService jwtService;
+    private SecretKey secretKey;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new JwtProperties(SECRET, 3600, 10_000));
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = jwtService.generateToken("admin");
+    }
+
+    @Benchmark
+    public String extractUsernameLegacy() {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String extractUsernameCached() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("admin");
+    }
+}
@@ -0,0 +1,104 @@
+package com.hackerrank.sample.benchmark;
+
+import com.hackerrank.sample.Application;
+import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.service.ProductBulkService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A page render that needs {@code items} products, fetched over loopback either as one
+ * {@code GET /products?ids=...} or as one {@code GET /products/{id}} per item. Single reads are served from
+ * the warm product cache, so the difference is what each extra request costs in filters, dispatch and
+ * transport rather than in SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class MultiGetBenchmark {
+
+    @Param({"10", "50"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest multiGet;
+    private List<HttpRequest> singleGets;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--rate.limit.capacity=1000000000",
+                "--rate.limit.tokens=1000000000",
+                "--jwt.secret=benchmark_secret_key_for_jwt_256_bits_standard",
+                "--spring.datasource.url=jdbc:h2:mem:mget-benchmark",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN");
+        context.getBean(ProductBulkService.class).createProducts(IntStream.range(0, items)
+                .mapToObj(MultiGetBenchmark::product)
+                .toList());
+
+        final var baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        final var ids = LongStream.rangeClosed(1, items).boxed().toList();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        multiGet = HttpRequest.newBuilder(URI.create(baseUri + "/products?ids="
+                        + ids.stream().map(String::valueOf).collect(Collectors.joining(","))))
+                .GET()
+                .build();
+        singleGets = ids.stream()
+                .map(id -> HttpRequest.newBuilder(URI.create(baseUri + "/products/" + id)).GET().build())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int multiGet() throws Exception {
+        return send(multiGet);
+    }
+
+    @Benchmark
+    public int singleGets() throws Exception {
+        var bytes = 0;
+        for (final var request : singleGets) {
+            bytes += send(request);
+        }
+        return bytes;
+    }
+
+    private int send(final HttpRequest request) throws Exception {
+        final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private static ProductRequest product(final int index) {
+        return new ProductRequest(
+                "Product " + index, "Benchmark product", new BigDecimal("19.99"), 10, Condition.NEW,
+                List.of("https://cdn.example.com/" + index + "-a.jpg", "https://cdn.example.com/" + index + "-b.jpg"),
+                "Store", 4.5, BigDecimal.ZERO, "Tomorrow");
+    }
+}
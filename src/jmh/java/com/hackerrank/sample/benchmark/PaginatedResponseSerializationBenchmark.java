@@ -0,0 +1,55 @@
+package com.hackerrank.sample.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hackerrank.sample.dto.PaginatedResponse;
+import com.hackerrank.sample.dto.ProductResponse;
+import com.hackerrank.sample.model.Product.Condition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialization of a {@code GET /products} page with the same {@code ObjectMapper} defaults Spring MVC
+ * uses, at small, large and maximum-sized pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginatedResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private PaginatedResponse<ProductResponse> page;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build()
+                .writerFor(new TypeReference<PaginatedResponse<ProductResponse>>() {
+                });
+
+        final var content = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new ProductResponse(
+                        id, "Product " + id, "The latest model with titanium body", new BigDecimal("1250.50"), 50,
+                        Condition.NEW,
+                        List.of("https://cdn.example.com/" + id + "-a.jpg", "https://cdn.example.com/" + id + "-b.jpg"),
+                        new ProductResponse.SellerInfo("Apple Official Store", 4.8),
+                        new ProductResponse.ShippingInfo(new BigDecimal("15.00"), "Arrives by Friday"), 0L))
+                .toList();
+        page = new PaginatedResponse<>(content, 100_000, 100_000 / pageSize, 0, pageSize);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}
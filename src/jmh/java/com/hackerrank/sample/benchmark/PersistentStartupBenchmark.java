@@ -0,0 +1,127 @@
+package com.hackerrank.sample.benchmark;
+
+import com.hackerrank.sample.Application;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.storage.DatabaseSnapshots;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from {@code SpringApplication.run} until the first query answers, with a {@code rows}-product catalog:
+ * <ul>
+ *     <li>{@code file} opens the persisted database, already migrated;</li>
+ *     <li>{@code snapshot} unzips the newest snapshot into an empty data directory first;</li>
+ *     <li>{@code replay} is the in-memory mode, with the same catalog in a seed script replayed on boot as
+ *     {@code data.sql} is.</li>
+ * </ul>
+ * Every start runs in the same JVM, so class loading and JIT are warm; this isolates what the storage mode
+ * adds to startup. The trial setup, seeding and snapshotting the catalog, counts against the first warmup
+ * iteration, hence the long timeout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Timeout(time = 30, timeUnit = TimeUnit.MINUTES)
+public class PersistentStartupBenchmark {
+
+    private static final int SEED_ROWS_PER_INSERT = 1000;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"file", "snapshot", "replay"})
+    private String storage;
+
+    private Path workDir;
+    private Path seedScript;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void persistCatalog() throws IOException {
+        workDir = Files.createTempDirectory("startup-benchmark");
+        final var seeding = start("file", "--products.storage.snapshot-dir=" + workDir.resolve("snapshots"));
+        seeding.getBean(JdbcTemplate.class).execute("""
+                INSERT INTO products (title, price, stock, condition, seller_name, shipping_cost, estimated_delivery)
+                SELECT 'Product ' || X, MOD(X * 7919, 100000) / 100.0 + 1, MOD(X, 20),
+                       CASEWHEN(MOD(X, 2) = 0, 'NEW', 'USED'), 'Seller ' || MOD(X, 1000), 0, 'Tomorrow'
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(rows));
+        seeding.getBean(DatabaseSnapshots.class).snapshot();
+        seeding.close();
+
+        seedScript = workDir.resolve("seed.sql");
+        try (BufferedWriter writer = Files.newBufferedWriter(seedScript)) {
+            for (int first = 1; first <= rows; first += SEED_ROWS_PER_INSERT) {
+                writer.write("INSERT INTO products (title, price, stock, condition, seller_name, shipping_cost, "
+                        + "estimated_delivery) VALUES ");
+                final var last = Math.min(rows, first + SEED_ROWS_PER_INSERT - 1);
+                for (int x = first; x <= last; x++) {
+                    writer.write("('Product %d', %s, %d, '%s', 'Seller %d', 0, 'Tomorrow')%s".formatted(
+                            x, (x * 7919L % 100000) / 100.0 + 1, x % 20, x % 2 == 0 ? "NEW" : "USED", x % 1000,
+                            x == last ? ";\n" : ","));
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearRestoredDatabase() throws IOException {
+        FileSystemUtils.deleteRecursively(workDir.resolve("restored"));
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCatalog() throws IOException {
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public long startUntilFirstQuery() {
+        context = switch (storage) {
+            case "file" -> start("file");
+            case "snapshot" -> start("restored", "--products.storage.restore-from=" + workDir.resolve("snapshots"));
+            case "replay" -> SpringApplication.run(Application.class, arguments(
+                    "--spring.datasource.url=jdbc:h2:mem:replay-benchmark",
+                    "--spring.sql.init.data-locations=file:" + seedScript));
+            default -> throw new IllegalArgumentException(storage);
+        };
+        return context.getBean(ProductRepository.class).count();
+    }
+
+    private ConfigurableApplicationContext start(final String dataDir, final String... extra) {
+        final var args = new ArrayList<>(List.of(
+                "--spring.profiles.active=persistent",
+                "--products.storage.data-dir=" + workDir.resolve(dataDir)));
+        args.addAll(List.of(extra));
+        return SpringApplication.run(Application.class, arguments(args.toArray(String[]::new)));
+    }
+
+    private static String[] arguments(final String... extra) {
+        final var args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--jwt.secret=benchmark_secret_key_for_jwt_256_bits_standard",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extra));
+        return args.toArray(String[]::new);
+    }
+}
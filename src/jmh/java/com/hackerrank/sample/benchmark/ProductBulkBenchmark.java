@@ -0,0 +1,145 @@
+package com.hackerrank.sample.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.Application;
+import com.hackerrank.sample.dto.BatchResponse;
+import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.service.JwtService;
+import com.hackerrank.sample.service.ProductBulkService;
+import com.hackerrank.sample.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Insert throughput of the single-item path (one transaction and one INSERT per product) against the
+ * bulk path (chunked transactions with JDBC batching). Each operation writes {@code rows} products;
+ * divide by the reported time per operation to get rows per second. The {@code service*} methods call the
+ * services directly; the {@code http*} methods go through the endpoints clients use, one
+ * {@code POST /products} per row against a single {@code POST /products/batch}, over a keep-alive
+ * connection on loopback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProductBulkBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductBulkService productBulkService;
+    private List<ProductRequest> requests;
+    private ObjectMapper objectMapper;
+    private HttpClient httpClient;
+    private List<HttpRequest> singleRequests;
+    private HttpRequest batchRequest;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Command-line arguments, unlike default properties, take precedence over application.properties
+        context = SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--jwt.secret=benchmark_secret_key_for_jwt_256_bits_standard",
+                "--spring.datasource.url=jdbc:h2:mem:bulk-benchmark",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN",
+                "--rate.limit.capacity=1000000000",
+                "--rate.limit.tokens=1000000000",
+                "--products.batch.max-items=" + rows);
+        productService = context.getBean(ProductService.class);
+        productBulkService = context.getBean(ProductBulkService.class);
+
+        requests = IntStream.range(0, rows)
+                .mapToObj(i -> new ProductRequest(
+                        "Product " + i, "Benchmark product", new BigDecimal("19.99"), 10, Condition.NEW,
+                        List.of("https://cdn.example.com/" + i + ".jpg"), "Store", 4.5, BigDecimal.ZERO, "Tomorrow"))
+                .toList();
+
+        objectMapper = context.getBean(ObjectMapper.class);
+        final var baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        final var authorization = "Bearer " + context.getBean(JwtService.class).generateToken("benchmark");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        singleRequests = requests.stream()
+                .map(request -> post(baseUri + "/products", authorization, json(objectMapper, request)))
+                .toList();
+        batchRequest = post(baseUri + "/products/batch", authorization, json(objectMapper, requests));
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        productService.deleteAllProducts();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void serviceOneByOne() {
+        requests.forEach(productService::createProduct);
+    }
+
+    @Benchmark
+    public Object serviceBatch() {
+        return productBulkService.createProducts(requests);
+    }
+
+    @Benchmark
+    public void httpOneByOne() throws Exception {
+        for (final var request : singleRequests) {
+            send(request, 201);
+        }
+    }
+
+    @Benchmark
+    public BatchResponse httpBatch() throws Exception {
+        final var response = objectMapper.readValue(send(batchRequest, 200), BatchResponse.class);
+        if (response.created() != rows) {
+            throw new IllegalStateException("Batch created " + response.created() + " of " + rows + " products");
+        }
+        return response;
+    }
+
+    private byte[] send(final HttpRequest request, final int expectedStatus) throws IOException, InterruptedException {
+        final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static HttpRequest post(final String uri, final String authorization, final byte[] body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private static byte[] json(final ObjectMapper objectMapper, final Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
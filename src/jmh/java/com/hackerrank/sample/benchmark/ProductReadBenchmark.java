@@ -0,0 +1,84 @@
+package com.hackerrank.sample.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.Application;
+import com.hackerrank.sample.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing the body of {@code GET /products/{id}} on a cache hit. {@code serializeOnEveryRead} is
+ * what a hit used to cost, a cache lookup followed by running the record through Jackson; {@code cachedPayload}
+ * is the lookup alone, which now returns the finished bytes; {@code httpGet} is the whole request over
+ * loopback with gzip accepted. Run with {@code -prof gc} to compare the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+public class ProductReadBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ObjectMapper objectMapper;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--rate.limit.capacity=1000000000",
+                "--rate.limit.tokens=1000000000",
+                "--jwt.secret=benchmark_secret_key_for_jwt_256_bits_standard",
+                "--spring.datasource.url=jdbc:h2:mem:read-benchmark",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN");
+        productService = context.getBean(ProductService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        final var port = context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products/" + PRODUCT_ID))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializeOnEveryRead() throws Exception {
+        return objectMapper.writeValueAsBytes(productService.getProductPayload(PRODUCT_ID).product());
+    }
+
+    @Benchmark
+    public byte[] cachedPayload() {
+        return productService.getProductPayload(PRODUCT_ID).json();
+    }
+
+    @Benchmark
+    public int httpGet() throws Exception {
+        final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,123 @@
+package com.hackerrank.sample.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching a fresh JVM until {@code GET /products} first answers 200, as an autoscaled pod
+ * becomes ready. {@code jar} is the plain {@code java -jar} of the {@code prod} image; {@code aot-cds} is
+ * the {@code startup} build, AOT-processed and started with its class data sharing archive. Both run the
+ * {@code prod} profile against a file database migrated by the first warmup start.
+ *
+ * <p>Needs both builds: {@code mvn -B -Pstartup,benchmark -DskipTests verify -Djmh.args=benchmark.StartupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"jar", "aot-cds"})
+    private String build;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private List<String> command;
+    private Path dataDir;
+    private Process application;
+
+    @Setup(Level.Trial)
+    public void locateBuild() throws IOException {
+        final var target = Path.of(System.getProperty("startup.target", "target"));
+        command = switch (build) {
+            case "jar" -> List.of("java", "-jar", jar(target, "").toString());
+            case "aot-cds" -> {
+                final var startupDir = target.resolve("startup");
+                yield List.of("java",
+                        "-XX:SharedArchiveFile=" + startupDir.resolve("app.jsa"),
+                        "-Dspring.aot.enabled=true",
+                        "-jar", jar(startupDir, "-startup").toString());
+            }
+            default -> throw new IllegalArgumentException(build);
+        };
+        dataDir = Files.createTempDirectory("startup-benchmark-" + build);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() throws InterruptedException {
+        application.destroy();
+        if (!application.waitFor(30, TimeUnit.SECONDS)) {
+            application.destroyForcibly().waitFor();
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstProductsResponse() throws Exception {
+        final var port = freePort();
+        final var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        process.environment().putAll(Map.of(
+                "SERVER_PORT", String.valueOf(port),
+                "SPRING_PROFILES_ACTIVE", "prod",
+                "JWT_SECRET_KEY", "benchmark_secret_key_for_jwt_256_bits_standard",
+                "DB_USER_NAME", "sa",
+                "DB_PASSWORD", "benchmark",
+                "PRODUCTS_DATA_DIR", dataDir.toString()));
+        application = process.start();
+
+        final var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products")).GET().build();
+        final var deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException(command + " exited with " + application.exitValue());
+            }
+            try {
+                final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() == 200) {
+                    return response.body().length;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException(command + " did not answer GET /products within " + READY_TIMEOUT);
+    }
+
+    private static Path jar(final Path directory, final String suffix) throws IOException {
+        try (var files = Files.list(directory)) {
+            final var jars = files
+                    .filter(file -> file.getFileName().toString().matches("sample-[^-]+" + suffix + "\\.jar"))
+                    .toList();
+            if (jars.size() != 1) {
+                throw new IllegalStateException("Expected one sample" + suffix + " jar in " + directory + ": " + jars);
+            }
+            return jars.getFirst();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
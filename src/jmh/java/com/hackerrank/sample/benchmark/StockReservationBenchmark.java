@@ -0,0 +1,64 @@
+package com.hackerrank.sample.benchmark;
+
+import com.hackerrank.sample.Application;
+import com.hackerrank.sample.dto.StockLevel;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended reserve/release pairs on a single product from {@value #THREADS} threads, either through the
+ * conditional UPDATE on its row or through the striped in-memory ledger of a hot SKU. Every release puts
+ * the reserved unit back, so the product never sells out during a run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(StockReservationBenchmark.THREADS)
+public class StockReservationBenchmark {
+
+    static final int THREADS = 16;
+
+    @Param({"false", "true"})
+    private boolean hot;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Long productId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--products.stock.ledger.hot-skus=" + (hot ? "1" : ""),
+                "--jwt.secret=benchmark_secret_key_for_jwt_256_bits_standard",
+                "--spring.datasource.url=jdbc:h2:mem:stock-benchmark",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN");
+        productService = context.getBean(ProductService.class);
+
+        final var repository = context.getBean(ProductRepository.class);
+        final var product = repository.findById(1L).orElseThrow();
+        product.setStock(1_000_000);
+        productId = repository.save(product).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public StockLevel reserveAndRelease() {
+        productService.reserveStock(productId, 1);
+        return productService.releaseStock(productId, 1);
+    }
+}
@@ -0,0 +1,141 @@
+package com.hackerrank.sample.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.hackerrank.sample.logging.DroppingAsyncAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of a request that logs like {@code ProductServiceImpl.createProduct} (two INFO lines) while the
+ * console drains at only {@code bytesPerSecond}, as when the log shipper falls behind. {@code sync} writes
+ * through the JSON encoder on the request thread; {@code async} goes through {@link DroppingAsyncAppender}.
+ * Events lost to a full queue are reported as the {@code droppedEvents} secondary result, summed over the
+ * measurement iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+public class ThrottledConsoleLoggingBenchmark {
+
+    @Param({"sync", "async"})
+    private String mode;
+
+    @Param({"262144"})
+    private long bytesPerSecond;
+
+    private LoggerContext context;
+    private Logger logger;
+    private DroppingAsyncAppender asyncAppender;
+
+    @Setup(Level.Trial)
+    public void configureLogging() {
+        context = new LoggerContext();
+        // A context not created through SLF4J has no MDC adapter, and every append would fail on it
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        final var encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        final var console = new OutputStreamAppender<ILoggingEvent>();
+        console.setContext(context);
+        console.setName("THROTTLED_CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(new ThrottledOutputStream(bytesPerSecond));
+        console.start();
+
+        logger = context.getLogger("com.hackerrank.sample.service.ProductServiceImpl");
+        logger.setAdditive(false);
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+
+        if (mode.equals("sync")) {
+            logger.addAppender(console);
+            return;
+        }
+        asyncAppender = new DroppingAsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName("ASYNC_THROTTLED_CONSOLE");
+        asyncAppender.addAppender(console);
+        asyncAppender.start();
+        logger.addAppender(asyncAppender);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopLogging() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void createProductRequest(final DroppedEvents droppedEvents) {
+        logger.info("Processing product creation: '{}'", "iPhone 15 Pro Max");
+        Blackhole.consumeCPU(2_000);
+        logger.info("Product created successfully with ID: {}", 42L);
+    }
+
+    private long droppedSoFar() {
+        return asyncAppender == null
+                ? 0
+                : DroppingAsyncAppender.LEVELS.stream().mapToLong(asyncAppender::getDroppedCount).sum();
+    }
+
+    /**
+     * Drops during one iteration. Only the first thread reports, since the appender's count is shared and
+     * JMH sums the counter over threads.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DroppedEvents {
+
+        public long droppedEvents;
+
+        private boolean reporting;
+        private long droppedBefore;
+
+        @Setup(Level.Iteration)
+        public void recordBaseline(final ThrottledConsoleLoggingBenchmark benchmark, final ThreadParams thread) {
+            reporting = thread.getThreadIndex() == 0;
+            droppedBefore = benchmark.droppedSoFar();
+        }
+
+        @TearDown(Level.Iteration)
+        public void report(final ThrottledConsoleLoggingBenchmark benchmark) {
+            droppedEvents = reporting ? benchmark.droppedSoFar() - droppedBefore : 0;
+        }
+    }
+
+    /**
+     * Accepts bytes at a fixed rate, parking the writer for as long as the bytes would take to drain.
+     */
+    private static final class ThrottledOutputStream extends OutputStream {
+
+        private final long nanosPerByte;
+
+        private ThrottledOutputStream(final long bytesPerSecond) {
+            this.nanosPerByte = TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+        }
+
+        @Override
+        public void write(final int b) {
+            LockSupport.parkNanos(nanosPerByte);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            LockSupport.parkNanos(nanosPerByte * len);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.hackerrank.sample.security;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the token-bucket decision: a known client with tokens left, a known client that
+ * is rejected (429 body included), and a first-seen client whose bucket has to be created. The
+ * rejection warning is silenced so console logging does not dominate the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitingFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+    private static final int DISTINCT_CLIENTS = 65_536;
+
+    private static final int UNLIMITED = 1_000_000_000;
+
+    private RateLimitingFilter allowingFilter;
+    private RateLimitingFilter rejectingFilter;
+    private RateLimitingFilter churningFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest[] newClientRequests;
+    private int nextClient;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(RateLimitingFilter.class)).setLevel(Level.ERROR);
+
+        allowingFilter = new RateLimitingFilter(
+                UNLIMITED, UNLIMITED, 100_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        rejectingFilter = new RateLimitingFilter(1, 1, 100_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        churningFilter = new RateLimitingFilter(
+                UNLIMITED, UNLIMITED, 1_024, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/products");
+        request.setRemoteAddr("10.0.0.1");
+        rejectingFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+
+        newClientRequests = new MockHttpServletRequest[DISTINCT_CLIENTS];
+        for (int i = 0; i < DISTINCT_CLIENTS; i++) {
+            newClientRequests[i] = new MockHttpServletRequest("GET", "/products");
+            newClientRequests[i].setRemoteAddr("10.1." + (i >> 8) + "." + (i & 0xFF));
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse allowed() throws Exception {
+        final var response = new MockHttpServletResponse();
+        allowingFilter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rejected() throws Exception {
+        final var response = new MockHttpServletResponse();
+        rejectingFilter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    /**
+     * Rotates over far more addresses than the store may keep, so every request misses, creates a
+     * bucket and eventually causes an eviction.
+     */
+    @Benchmark
+    public MockHttpServletResponse newClient() throws Exception {
+        final var response = new MockHttpServletResponse();
+        churningFilter.doFilter(newClientRequests[nextClient++ & (DISTINCT_CLIENTS - 1)], response, NO_OP_CHAIN);
+        return response;
+    }
+}
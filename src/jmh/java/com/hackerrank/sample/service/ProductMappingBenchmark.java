@@ -0,0 +1,47 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.dto.ProductResponse;
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO/entity conversion done on every read and write. Lives in the service package because both
+ * mappers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    private ProductRequest request;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        final var images = List.of("https://cdn.example.com/p1.jpg", "https://cdn.example.com/p2.jpg");
+        request = new ProductRequest(
+                "iPhone 15 Pro Max", "The latest iPhone with titanium body", new BigDecimal("1250.50"), 50,
+                Condition.NEW, images, "Apple Official Store", 4.8, new BigDecimal("15.00"), "Arrives by Friday");
+        product = ProductServiceImpl.mapToEntity(request);
+        product.setId(1L);
+    }
+
+    @Benchmark
+    public Product mapToEntity() {
+        return ProductServiceImpl.mapToEntity(request);
+    }
+
+    @Benchmark
+    public ProductResponse mapToResponse() {
+        return ProductServiceImpl.mapToResponse(product);
+    }
+}
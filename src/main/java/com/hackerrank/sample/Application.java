@@ -1,12 +1,18 @@
 package com.hackerrank.sample;
 
 import com.hackerrank.sample.config.JwtProperties;
+import com.hackerrank.sample.config.ReadReplicaProperties;
+import com.hackerrank.sample.config.StockLedgerProperties;
+import com.hackerrank.sample.config.StorageProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, StockLedgerProperties.class, ReadReplicaProperties.class,
+        StorageProperties.class})
+@EnableScheduling
 public class Application {
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
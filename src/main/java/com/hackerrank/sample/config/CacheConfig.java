@@ -0,0 +1,18 @@
+package com.hackerrank.sample.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the in-process Caffeine cache declared in {@code application.properties}.
+ * The cache advice wraps the transactional advice, so hits never open a transaction and
+ * evictions run only after the writing transaction has committed. It sits just inside the service timing
+ * advice of {@link MetricsConfig}, so cache hits are timed too.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+}
@@ -0,0 +1,58 @@
+package com.hackerrank.sample.config;
+
+import com.hackerrank.sample.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Replaces Boot's single pool with {@link ReadWriteRoutingDataSource} once a read replica is configured.
+ * The primary pool is still built from {@code spring.datasource.*}, Hikari settings included, but it is not
+ * a bean of its own: the routing datasource is the only one the application, Hibernate and the SQL metrics
+ * wrapper see.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "products.datasource.read.replicas[0].url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    ReadWriteRoutingDataSource dataSource(
+            final DataSourceProperties dataSourceProperties,
+            final ReadReplicaProperties readReplicaProperties,
+            final Environment environment) {
+        final var primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        return new ReadWriteRoutingDataSource(primary, readReplicaProperties);
+    }
+
+    /**
+     * Turns replica reads on once Boot reports the application ready for traffic, which it does after the
+     * {@code ApplicationReadyEvent} listeners (the facet reconciliation among them) have run on the primary.
+     * The bean seen here may be the SQL metrics wrapper, hence the unwrap.
+     */
+    @Bean
+    ApplicationListener<AvailabilityChangeEvent<ReadinessState>> replicaReadsOnReadiness(final DataSource dataSource) {
+        return event -> {
+            try {
+                dataSource.unwrap(ReadWriteRoutingDataSource.class)
+                        .setReplicasEnabled(event.getState() == ReadinessState.ACCEPTING_TRAFFIC);
+            } catch (SQLException e) {
+                throw new IllegalStateException("The DataSource does not wrap ReadWriteRoutingDataSource", e);
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.hackerrank.sample.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Min;
@@ -9,6 +10,7 @@ import jakarta.validation.constraints.Min;
 @ConfigurationProperties(prefix = "jwt")
 public record JwtProperties(
         @NotBlank String secret,
-        @Min(60) long expiration
+        @Min(60) long expiration,
+        @Min(0) @DefaultValue("10000") long cacheSize
 ) {
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.hackerrank.sample.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.hackerrank.sample.logging.DroppingAsyncAppender;
+import com.hackerrank.sample.metrics.SqlCountingDataSource;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+
+/**
+ * Application metrics beyond what Actuator records on its own. Percentile histograms for these meters are
+ * switched on in {@code application.properties}, next to the rest of the Micrometer settings.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "products.service";
+
+    /**
+     * Times every public method of the classes annotated with {@link Timed}, tagged by class and method. Not
+     * Micrometer's {@code TimedAspect}: aspects run innermost, inside the cache advice, so cache hits would
+     * never be timed. This advisor is ordered ahead of {@link CacheConfig}'s.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceTimingAdvisor(final ObjectProvider<MeterRegistry> meterRegistry) {
+        final MethodInterceptor interceptor = invocation -> {
+            final var registry = meterRegistry.getObject();
+            final var sample = Timer.start(registry);
+            var exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                sample.stop(Timer.builder(SERVICE_TIMER)
+                        .description("Latency of product service methods")
+                        .tag("class", invocation.getMethod().getDeclaringClass().getSimpleName())
+                        .tag("method", invocation.getMethod().getName())
+                        .tag("exception", exception)
+                        .register(registry));
+            }
+        };
+
+        final var advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Timed.class, true), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "products.metrics.sql.enabled", matchIfMissing = true)
+    static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlCountingDataSource)) {
+                    return new SqlCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * The rate limiter tags by route before any handler is resolved, so unknown paths would each add a
+     * series; past 100 routes new ones are dropped.
+     */
+    @Bean
+    MeterFilter rateLimitRouteCardinality() {
+        return MeterFilter.maximumAllowableTags("ratelimit.requests", "route", 100, MeterFilter.deny());
+    }
+
+    /**
+     * Publishes the queue depth and the per-level drop counts of the async log appenders attached to the
+     * root logger, which Logback creates before the context starts.
+     */
+    @Bean
+    MeterBinder asyncLogAppenderMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders().forEachRemaining(appender -> {
+                if (!(appender instanceof DroppingAsyncAppender async)) {
+                    return;
+                }
+                Gauge.builder("logback.queue.depth", async, DroppingAsyncAppender::getQueueDepth)
+                        .description("Log events waiting to be written")
+                        .tag("appender", async.getName())
+                        .register(registry);
+                for (final var level : DroppingAsyncAppender.LEVELS) {
+                    FunctionCounter.builder("logback.events.dropped", async, a -> a.getDroppedCount(level))
+                            .description("Log events dropped because the queue was full")
+                            .tag("appender", async.getName())
+                            .tag("level", level.toString().toLowerCase(Locale.ROOT))
+                            .register(registry);
+                }
+            });
+        };
+    }
+}
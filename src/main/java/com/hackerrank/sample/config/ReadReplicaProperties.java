@@ -0,0 +1,41 @@
+package com.hackerrank.sample.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for {@code readOnly} transactions. With no replica configured every transaction uses the
+ * primary datasource. A replica that fails to hand out a connection is skipped for {@code retryInterval};
+ * a user who wrote within {@code readYourWritesWindow} keeps reading from the primary.
+ */
+@Validated
+@ConfigurationProperties(prefix = "products.datasource.read")
+public record ReadReplicaProperties(
+        @NotNull @DefaultValue List<@Valid Replica> replicas,
+        @NotNull @DefaultValue("ROUND_ROBIN") Selection selection,
+        @NotNull @DefaultValue("0s") Duration readYourWritesWindow,
+        @NotNull @DefaultValue("5s") Duration retryInterval
+) {
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    public record Replica(
+            @NotBlank String url,
+            String username,
+            String password,
+            @Min(1) @DefaultValue("10") int maximumPoolSize,
+            @NotNull @DefaultValue("250ms") Duration connectionTimeout
+    ) {
+    }
+}
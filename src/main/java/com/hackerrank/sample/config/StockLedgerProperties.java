@@ -0,0 +1,24 @@
+package com.hackerrank.sample.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Hot-SKU stock mode. Products listed in {@code hotSkus} reserve and release stock in memory and write the
+ * net change back every {@code flushInterval}, or sooner once {@code crashLossWindow} units are pending.
+ */
+@Validated
+@ConfigurationProperties(prefix = "products.stock.ledger")
+public record StockLedgerProperties(
+        @NotNull @DefaultValue Set<Long> hotSkus,
+        @NotNull @DefaultValue("1s") Duration flushInterval,
+        @Min(1) @DefaultValue("100") long crashLossWindow,
+        @Min(1) @DefaultValue("16") int stripes
+) {
+}
@@ -0,0 +1,33 @@
+package com.hackerrank.sample.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * File-backed storage of the {@code persistent} profile. The H2 database lives in {@code dataDir}. When
+ * {@code snapshotDir} is set, a compressed snapshot is written there every {@code snapshotInterval} and the
+ * newest {@code snapshotRetain} are kept. When the database file is missing at startup, {@code restoreFrom}
+ * (a snapshot, or a directory holding them) is unzipped into {@code dataDir} before the datasource opens.
+ */
+@Validated
+@ConfigurationProperties(prefix = "products.storage")
+public record StorageProperties(
+        @NotNull @DefaultValue("./data") Path dataDir,
+        Path snapshotDir,
+        @NotNull @DefaultValue("PT1H") Duration snapshotInterval,
+        @Min(1) @DefaultValue("3") int snapshotRetain,
+        Path restoreFrom
+) {
+
+    public static final String DATABASE_NAME = "products";
+
+    public Path databaseFile() {
+        return dataDir.resolve(DATABASE_NAME + ".mv.db");
+    }
+}
@@ -1,33 +1,75 @@
 package com.hackerrank.sample.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hackerrank.sample.config.BinaryFormatsConfig;
+import com.hackerrank.sample.dto.BatchResponse;
+import com.hackerrank.sample.dto.CursorPaginatedResponse;
+import com.hackerrank.sample.dto.MultiGetResponse;
 import com.hackerrank.sample.dto.PaginatedResponse;
+import com.hackerrank.sample.dto.ProductFacets;
+import com.hackerrank.sample.dto.ProductFilter;
 import com.hackerrank.sample.dto.ProductRequest;
 import com.hackerrank.sample.dto.ProductResponse;
+import com.hackerrank.sample.dto.StockLevel;
+import com.hackerrank.sample.dto.StockRequest;
+import com.hackerrank.sample.exception.PreconditionFailedException;
+import com.hackerrank.sample.service.ProductBulkService;
+import com.hackerrank.sample.service.ProductBulkService.ImportFormat;
 import com.hackerrank.sample.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/products")
 @Tag(name = "Product Controller", description = "Endpoints for product management")
 public class ProductController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final String GZIP = "gzip";
+    private static final String CBOR = "cbor";
+    private static final String SMILE = "smile";
+    private static final Set<String> REPRESENTATIONS = Set.of(GZIP, CBOR, SMILE);
+    private static final Map<MediaType, String> BINARY_TYPES =
+            Map.of(MediaType.APPLICATION_CBOR, CBOR, BinaryFormatsConfig.APPLICATION_SMILE, SMILE);
+
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
 
-    public ProductController(final ProductService productService) {
+    public ProductController(final ProductService productService, final ProductBulkService productBulkService) {
         this.productService = productService;
+        this.productBulkService = productBulkService;
     }
 
     /**
@@ -57,26 +99,219 @@ public class ProductController {
     }
 
     /**
-     * Retrieves a single product by its unique identifier.
+     * Creates many products in one call. Every item is validated individually; valid items are inserted
+     * with JDBC batching in chunked transactions and the outcome of each item is reported in request order.
+     *
+     * @param requests Products to create.
+     * @return Summary and per-item results.
+     */
+    @Operation(summary = "Create products in bulk")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Body is not an array or exceeds the maximum number of items",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/batch")
+    public BatchResponse createProducts(@RequestBody final List<ProductRequest> requests) {
+        return productBulkService.createProducts(requests);
+    }
+
+    /**
+     * Imports a large NDJSON or CSV upload record by record. Records are validated like single creations
+     * and written in chunked transactions; the response streams rejected lines and running totals as
+     * newline-delimited JSON while the upload is being read.
      *
-     * @param id Product ID.
-     * @return Product details.
+     * @param contentType Upload format, {@code application/x-ndjson} or {@code text/csv}.
+     * @param body        Raw upload.
+     * @param response    Response the import report is streamed to.
+     */
+    @Operation(summary = "Import products from an NDJSON or CSV upload")
+    @ApiResponse(responseCode = "200", description = "Rejected lines and progress totals, one JSON document per line",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final MediaType contentType,
+            final InputStream body,
+            final HttpServletResponse response) throws IOException {
+        final var format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        final var charset = Optional.ofNullable(contentType.getCharset()).orElse(StandardCharsets.UTF_8);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        productBulkService.importProducts(new InputStreamReader(body, charset), format, response.getOutputStream());
+    }
+
+    /**
+     * Streams the whole catalog as newline-delimited JSON, one product per line.
+     * Rows are written as they are read from the database, so memory use is independent of catalog size.
+     *
+     * @return Streaming NDJSON body.
+     */
+    @Operation(summary = "Export all products as NDJSON")
+    @ApiResponse(responseCode = "200", description = "One JSON product per line",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(productBulkService::exportProducts);
+    }
+
+    /**
+     * Returns product counts per condition, seller and price range across the whole catalog.
+     * Counts are kept in memory and adjusted on every committed write, so the cost of this call depends
+     * on the number of facet values rather than the number of products.
+     *
+     * @return Facet counts and the time of the last reconciliation against the database.
+     */
+    @Operation(summary = "Get product counts per condition, seller and price range")
+    @GetMapping("/facets")
+    public ProductFacets getProductFacets() {
+        return productService.getProductFacets();
+    }
+
+    /**
+     * Retrieves a single product by its unique identifier. The response carries the product version as a
+     * strong ETag; a matching {@code If-None-Match} is answered with 304 after reading only the version.
+     * JSON is written from cached, already serialized bytes, gzipped when the client accepts it; callers that
+     * prefer CBOR or Smile get the cached record through the matching converter. The gzipped, CBOR and Smile
+     * bodies are different representations, so their ETags carry a {@code -gzip}, {@code -cbor} or
+     * {@code -smile} suffix and only match requests negotiating the same representation.
+     *
+     * @param id             Product ID.
+     * @param accept         Media types the client accepts.
+     * @param acceptEncoding Content codings the client accepts.
+     * @param webRequest     Current request, used to evaluate {@code If-None-Match}.
+     * @return Product details, or {@code null} when a 304 has already been set.
      */
     @Operation(summary = "Get product by ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Product found; ETag holds its version", content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ProductResponse.class)),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                            schema = @Schema(implementation = ProductResponse.class)),
+                    @Content(mediaType = BinaryFormatsConfig.APPLICATION_SMILE_VALUE,
+                            schema = @Schema(implementation = ProductResponse.class))}),
+            @ApiResponse(responseCode = "304", description = "Client copy is current", content = @Content)
+    })
     @GetMapping("/{id}")
-    public ProductResponse getProductById(@PathVariable final Long id) {
-        return productService.getProductById(id);
+    public ResponseEntity<?> getProductById(
+            @PathVariable final Long id,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+            final String accept,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            final String acceptEncoding,
+            final WebRequest webRequest) {
+        final var binaryType = preferredBinaryType(accept);
+        final var representation = binaryType != null ? BINARY_TYPES.get(binaryType)
+                : acceptsGzip(acceptEncoding) ? GZIP : null;
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(eTag(productService.getProductVersion(id), representation))) {
+            return null;
+        }
+
+        final var payload = productService.getProductPayload(id);
+        final var response = ResponseEntity.ok()
+                .eTag(eTag(payload.version(), representation))
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (binaryType != null) {
+            return response.contentType(binaryType).body(payload.product());
+        }
+
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (GZIP.equals(representation)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(payload.gzip());
+        }
+        return response.body(payload.json());
     }
 
     /**
-     * Updates an existing product's information.
+     * Updates an existing product's information. With {@code If-Match} the update only applies if the
+     * product is still at the version the client read.
      */
     @Operation(summary = "Update product")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Product updated; ETag holds its new version"),
+            @ApiResponse(responseCode = "409", description = "Concurrent update detected",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
     @PutMapping("/{id}")
-    public ProductResponse updateProduct(
+    public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable final Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
             @RequestBody @Valid final ProductRequest request) {
-        return productService.updateProduct(id, request);
+        final var updated = productService.updateProduct(id, request, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updated.version())).body(updated);
+    }
+
+    /**
+     * Partially updates a product with JSON merge patch semantics: present members replace the current
+     * value, {@code null} clears it and absent members are left alone. Only the columns that change are
+     * written and the image gallery is rewritten only when its contents differ.
+     */
+    @Operation(summary = "Partially update product (JSON merge patch)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Product updated; ETag holds its new version"),
+            @ApiResponse(responseCode = "400", description = "Patch is not an object or the result is invalid",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "409", description = "Concurrent update detected",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductResponse> patchProduct(
+            @PathVariable final Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+            @RequestBody final JsonNode patch) {
+        final var updated = productService.patchProduct(id, patch, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updated.version())).body(updated);
+    }
+
+    /**
+     * Reserves units of a product with a single conditional UPDATE, so concurrent buyers can never
+     * oversell it and no read-modify-write cycle holds the row.
+     *
+     * @param id      Product ID.
+     * @param request Units to reserve.
+     * @return Stock remaining after the reservation.
+     */
+    @Operation(summary = "Reserve product stock")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Units reserved"),
+            @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "409", description = "Not enough stock",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/{id}/stock/reserve")
+    public StockLevel reserveStock(@PathVariable final Long id, @RequestBody @Valid final StockRequest request) {
+        return productService.reserveStock(id, request.quantity());
+    }
+
+    /**
+     * Returns previously reserved units of a product to its stock.
+     *
+     * @param id      Product ID.
+     * @param request Units to release.
+     * @return Stock available after the release.
+     */
+    @Operation(summary = "Release reserved product stock")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Units released"),
+            @ApiResponse(responseCode = "400", description = "Stock would exceed the maximum",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/{id}/stock/release")
+    public StockLevel releaseStock(@PathVariable final Long id, @RequestBody @Valid final StockRequest request) {
+        return productService.releaseStock(id, request.quantity());
     }
 
     /**
@@ -90,15 +325,166 @@ public class ProductController {
     }
 
     /**
-     * Retrieves a paginated list of products with sorting capabilities.
+     * Retrieves a paginated list of products with optional filtering and sorting.
+     * Filters and sortable fields ({@code id}, {@code title}, {@code price}, {@code stock}) are index-backed.
      *
+     * @param filter   Optional price range, condition, seller and stock filters.
      * @param pageable Pagination and sorting parameters.
      * @return Paginated response containing product data.
      */
     @Operation(summary = "Get paginated products")
     @GetMapping
     public PaginatedResponse<ProductResponse> getAllProducts(
+            @ParameterObject final ProductFilter filter,
             @ParameterObject @PageableDefault(size = 10, sort = "id") final Pageable pageable) {
-        return productService.getAllProducts(pageable);
+        return productService.getAllProducts(filter, pageable);
+    }
+
+    /**
+     * Retrieves the page of products following an opaque cursor (keyset pagination).
+     * Latency does not grow with page depth because no COUNT or OFFSET scan is performed.
+     * An empty {@code after} value requests the first page.
+     *
+     * @param after    Cursor returned as {@code nextCursor} by the previous page.
+     * @param filter   Optional filters; must be repeated unchanged on every page.
+     * @param pageable Page size and sorting; the page index is ignored.
+     * @return Cursor-based response containing product data.
+     */
+    @Operation(summary = "Get products using cursor pagination")
+    @GetMapping(params = "after")
+    public CursorPaginatedResponse<ProductResponse> getProductsAfter(
+            @Parameter(description = "Opaque cursor from a previous page; empty for the first page")
+            @RequestParam("after") final String after,
+            @ParameterObject final ProductFilter filter,
+            @ParameterObject @PageableDefault(size = 10, sort = "id") final Pageable pageable) {
+        return productService.getProductsAfter(after, pageable.getPageSize(), pageable.getSort(), filter);
+    }
+
+    /**
+     * Retrieves many products by id in a single query, for callers that would otherwise issue one
+     * {@code GET /products/{id}} per item. Products come back in request order and ids without a product are
+     * listed in {@code missingIds} instead of failing the call.
+     *
+     * @param ids Comma-separated or repeated product IDs.
+     * @return Products found and the ids that were not.
+     */
+    @Operation(summary = "Get many products by ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Products found, in request order, and missing ids"),
+            @ApiResponse(responseCode = "400", description = "Too many ids or an id is not a number",
+                    content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @GetMapping(params = {"ids", "!after"})
+    public MultiGetResponse getProductsByIds(
+            @Parameter(description = "Product IDs, e.g. ids=3,1,2", example = "3,1,2")
+            @RequestParam("ids") final List<Long> ids) {
+        return productService.getProductsByIds(ids);
+    }
+
+    /**
+     * CBOR or Smile when it is the most preferred media type the client lists (by quality, then order) rather
+     * than something JSON satisfies; {@code null} for JSON. A header that cannot be parsed falls back to JSON.
+     */
+    private static MediaType preferredBinaryType(final String accept) {
+        if (accept == null) {
+            return null;
+        }
+
+        final List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (final var type : accepted) {
+            if (type.getQualityValue() == 0) {
+                break;
+            }
+            final var binaryType = BINARY_TYPES.keySet().stream().filter(type::equalsTypeAndSubtype).findFirst();
+            if (binaryType.isPresent()) {
+                return binaryType.get();
+            }
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * True when gzip ends up with a non-zero quality: an explicit {@code gzip} entry decides, {@code *} only
+     * applies when gzip is not listed. A quality that cannot be parsed counts as zero, so the plain body is sent.
+     */
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzip = null;
+        Double wildcard = null;
+        for (final var coding : acceptEncoding.split(",")) {
+            final var parts = coding.split(";");
+            final var name = parts[0].strip();
+            if (name.equalsIgnoreCase("gzip")) {
+                gzip = Math.max(gzip == null ? 0 : gzip, quality(parts));
+            } else if (name.equals("*")) {
+                wildcard = quality(parts);
+            }
+        }
+
+        final var chosen = gzip != null ? gzip : wildcard;
+        return chosen != null && chosen > 0;
+    }
+
+    private static double quality(final String[] codingParts) {
+        for (int i = 1; i < codingParts.length; i++) {
+            final var parameter = codingParts[i].strip();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static String eTag(final long version) {
+        return eTag(version, null);
+    }
+
+    /**
+     * Strong tag for one representation of the product at {@code version}: the bare version for identity JSON,
+     * the version and a suffix for any other representation.
+     */
+    private static String eTag(final long version, final String representation) {
+        return "\"" + version + (representation == null ? "" : "-" + representation) + "\"";
+    }
+
+    /**
+     * Accepts a single strong tag as issued by this API, for any representation; {@code *} or no header means
+     * no version check. Anything else cannot match a strong comparison and fails the precondition.
+     */
+    private static Long expectedVersion(final String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+
+        final var tag = ifMatch.strip();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            final var opaque = tag.substring(1, tag.length() - 1);
+            final var suffix = opaque.indexOf('-');
+            try {
+                if (suffix > 0 && REPRESENTATIONS.contains(opaque.substring(suffix + 1))) {
+                    return Long.valueOf(opaque.substring(0, suffix));
+                }
+                return Long.valueOf(opaque);
+            } catch (NumberFormatException ignored) {
+                // Falls through to the precondition failure
+            }
+        }
+        throw new PreconditionFailedException("If-Match must be an ETag returned by this API");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package com.hackerrank.sample.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hackerrank.sample.config.ReadReplicaProperties;
+import com.hackerrank.sample.config.ReadReplicaProperties.Selection;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Sends {@code readOnly} transactions to a replica pool and everything else to the primary.
+ *
+ * <p>The transaction manager opens its connection before Spring records that the transaction is read-only,
+ * so this is a {@link LazyConnectionDataSourceProxy}: the physical connection, and with it the routing
+ * decision, is only taken at the first statement. A replica that cannot hand out a connection is skipped for
+ * the retry interval and the read falls back to the primary.
+ *
+ * <p>Replicas start disabled: until {@link #setReplicasEnabled(boolean)} turns them on, once the application
+ * accepts traffic, reads made while starting up go to the primary, so an empty or lagging replica cannot
+ * break the bootstrap.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final Router router;
+
+    /**
+     * Reads the default auto-commit and isolation from the primary up front. Left to the proxy, that probe
+     * would take the first routed connection, which inside a read-only transaction is a replica's.
+     */
+    public ReadWriteRoutingDataSource(final DataSource primary, final ReadReplicaProperties properties) {
+        super(new Router(primary, properties));
+        this.router = (Router) obtainTargetDataSource();
+        try (var connection = primary.getConnection()) {
+            checkDefaultConnectionProperties(connection);
+        } catch (SQLException e) {
+            log.warn("Could not read connection defaults from the primary, probing on first use: {}", e.getMessage());
+        }
+    }
+
+    public void setReplicasEnabled(final boolean replicasEnabled) {
+        router.replicasEnabled = replicasEnabled;
+    }
+
+    /**
+     * Closes the replica pools and the primary pool.
+     */
+    @Override
+    public void close() {
+        router.replicas.forEach(replica -> replica.pool.close());
+        if (router.primary instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the primary datasource: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Router extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final List<Replica> replicas;
+        private final Selection selection;
+        private final long retryIntervalNanos;
+        private final Cache<String, Boolean> recentWriters;
+        private final AtomicInteger next = new AtomicInteger();
+        private volatile boolean replicasEnabled;
+
+        private Router(final DataSource primary, final ReadReplicaProperties properties) {
+            this.primary = primary;
+            this.replicas = IntStream.range(0, properties.replicas().size())
+                    .mapToObj(i -> new Replica(pool(i, properties.replicas().get(i))))
+                    .toList();
+            this.selection = properties.selection();
+            this.retryIntervalNanos = properties.retryInterval().toNanos();
+            this.recentWriters = properties.readYourWritesWindow().isZero()
+                    ? null
+                    : Caffeine.newBuilder().expireAfterWrite(properties.readYourWritesWindow()).build();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    rememberWriter();
+                }
+                return primary.getConnection();
+            }
+            if (!replicasEnabled || isRecentWriter()) {
+                return primary.getConnection();
+            }
+
+            final var replica = select();
+            if (replica == null) {
+                return primary.getConnection();
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Replica {} unavailable, reading from the primary: {}", replica.pool.getPoolName(),
+                        e.getMessage());
+                replica.downUntil = System.nanoTime() + retryIntervalNanos;
+                return primary.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(final String username, final String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+
+        /**
+         * Lets Boot's pool metrics and health checks reach the primary pool through the proxy.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T unwrap(final Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return (T) this;
+            }
+            return primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || primary.isWrapperFor(iface);
+        }
+
+        private Replica select() {
+            final var now = System.nanoTime();
+            final var available = replicas.stream().filter(replica -> replica.isUp(now)).toList();
+            if (available.isEmpty()) {
+                return null;
+            }
+            return switch (selection) {
+                case ROUND_ROBIN -> available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+                case LEAST_LOADED -> available.stream()
+                        .min(Comparator.comparingInt(Replica::activeConnections))
+                        .orElseThrow();
+            };
+        }
+
+        private void rememberWriter() {
+            final var user = currentUser();
+            if (recentWriters != null && user != null) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+
+        private boolean isRecentWriter() {
+            final var user = currentUser();
+            return recentWriters != null && user != null && recentWriters.getIfPresent(user) != null;
+        }
+
+        /**
+         * The authenticated user of the current request; anonymous callers share no session to keep consistent.
+         */
+        private static String currentUser() {
+            final var authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                    || !authentication.isAuthenticated()) {
+                return null;
+            }
+            return authentication.getName();
+        }
+
+        private static HikariDataSource pool(final int index, final ReadReplicaProperties.Replica replica) {
+            final var pool = new HikariDataSource();
+            pool.setPoolName("replica-" + index);
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setMaximumPoolSize(replica.maximumPoolSize());
+            pool.setConnectionTimeout(replica.connectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            return pool;
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile long downUntil;
+
+        private Replica(final HikariDataSource pool) {
+            this.pool = pool;
+            this.downUntil = System.nanoTime();
+        }
+
+        private boolean isUp(final long now) {
+            return now - downUntil >= 0;
+        }
+
+        /**
+         * Connections in use; a pool that has not started yet has none.
+         */
+        private int activeConnections() {
+            final var mxBean = pool.getHikariPoolMXBean();
+            return mxBean == null ? 0 : mxBean.getActiveConnections();
+        }
+    }
+}
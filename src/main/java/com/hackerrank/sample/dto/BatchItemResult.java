@@ -0,0 +1,34 @@
+package com.hackerrank.sample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single item inside a bulk operation")
+public record BatchItemResult(
+        @Schema(description = "Zero-based position of the item in a batch, or one-based line number in an import", example = "0")
+        long index,
+
+        @Schema(description = "Item outcome", example = "CREATED")
+        Status status,
+
+        @Schema(description = "Identifier assigned to the created product", example = "1025")
+        Long id,
+
+        @Schema(description = "Reason the item was rejected", example = "title: Title is mandatory")
+        String error
+) {
+    public enum Status {
+        CREATED, INVALID, FAILED
+    }
+
+    public static BatchItemResult created(final long index, final Long id) {
+        return new BatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BatchItemResult invalid(final long index, final String error) {
+        return new BatchItemResult(index, Status.INVALID, null, error);
+    }
+
+    public static BatchItemResult failed(final long index, final String error) {
+        return new BatchItemResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.hackerrank.sample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Summary and per-item results of a bulk operation")
+public record BatchResponse(
+        @Schema(description = "Number of items received", example = "1000")
+        long received,
+
+        @Schema(description = "Number of products created", example = "998")
+        long created,
+
+        @Schema(description = "Number of items rejected by validation or storage", example = "2")
+        long rejected,
+
+        @Schema(description = "Outcome of every item, in request order")
+        List<BatchItemResult> results
+) {
+    public static BatchResponse of(final List<BatchItemResult> results) {
+        final var created = results.stream().filter(r -> r.status() == BatchItemResult.Status.CREATED).count();
+        return new BatchResponse(results.size(), created, results.size() - created, results);
+    }
+}
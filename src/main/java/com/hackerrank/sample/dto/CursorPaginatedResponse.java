@@ -0,0 +1,22 @@
+package com.hackerrank.sample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Cursor-based wrapper for paginated API responses (no total count)")
+public record CursorPaginatedResponse<T>(
+        @Schema(description = "List of items in the current page")
+        List<T> content,
+
+        @Schema(description = "Opaque token to pass as 'after' to fetch the next page; null on the last page",
+                example = "eyJpZCI6MTB9")
+        String nextCursor,
+
+        @Schema(description = "Whether more items exist after this page", example = "true")
+        boolean hasNext,
+
+        @Schema(description = "Number of elements per page", example = "10")
+        int pageSize
+) {
+}
@@ -0,0 +1,19 @@
+package com.hackerrank.sample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Running totals of a streaming import, emitted after every written chunk and once at the end")
+public record ImportProgress(
+        @Schema(description = "Number of records read so far", example = "5000")
+        long processed,
+
+        @Schema(description = "Number of products created so far", example = "4998")
+        long created,
+
+        @Schema(description = "Number of records rejected so far", example = "2")
+        long rejected,
+
+        @Schema(description = "Whether the whole upload has been processed", example = "false")
+        boolean completed
+) {
+}
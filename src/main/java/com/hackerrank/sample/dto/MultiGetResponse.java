@@ -0,0 +1,15 @@
+package com.hackerrank.sample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Products requested by id, in request order, and the ids that do not exist")
+public record MultiGetResponse(
+        @Schema(description = "Products found, in the order their ids were requested; repeated ids appear once")
+        List<ProductResponse> products,
+
+        @Schema(description = "Requested ids without a product, in request order", example = "[42]")
+        List<Long> missingIds
+) {
+}
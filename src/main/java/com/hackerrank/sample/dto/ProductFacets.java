@@ -0,0 +1,25 @@
+package com.hackerrank.sample.dto;
+
+import com.hackerrank.sample.model.Product.Condition;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Number of products per facet value across the whole catalog; values without products are omitted")
+public record ProductFacets(
+        @Schema(description = "Products per condition", example = "{\"NEW\": 120, \"USED\": 35}")
+        Map<Condition, Long> conditions,
+
+        @Schema(description = "Products per seller, ordered by seller name", example = "{\"Apple Store\": 12}")
+        Map<String, Long> sellers,
+
+        @Schema(description = "Products per price range; lower bound inclusive, upper bound exclusive",
+                example = "{\"*-10\": 4, \"10-50\": 30, \"1000-*\": 2}")
+        Map<String, Long> priceRanges,
+
+        @Schema(description = "When the counters were last reconciled against the database",
+                example = "2026-01-21T15:00:00Z")
+        Instant reconciledAt
+) {
+}
@@ -0,0 +1,28 @@
+package com.hackerrank.sample.dto;
+
+import com.hackerrank.sample.model.Product.Condition;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Optional listing filters; omitted fields do not constrain the result")
+public record ProductFilter(
+        @Schema(description = "Minimum unit price, inclusive", example = "100.00")
+        BigDecimal minPrice,
+
+        @Schema(description = "Maximum unit price, inclusive", example = "1500.00")
+        BigDecimal maxPrice,
+
+        @Schema(description = "Physical condition", example = "NEW")
+        Condition condition,
+
+        @Schema(description = "Exact seller name", example = "Apple Store")
+        String seller,
+
+        @Schema(description = "true for products with stock available, false for sold-out products", example = "true")
+        Boolean inStock
+) {
+    public static ProductFilter none() {
+        return new ProductFilter(null, null, null, null, null);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hackerrank.sample.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.hackerrank.sample.model.Product.Condition;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -33,7 +34,11 @@ public record ProductResponse(
         SellerInfo seller,
 
         @Schema(description = "Consolidated shipping information")
-        ShippingInfo shipping
+        ShippingInfo shipping,
+
+        @JsonIgnore
+        @Schema(hidden = true)
+        Long version
 ) {
     /**
      * Nested record for Seller representation
@@ -0,0 +1,13 @@
+package com.hackerrank.sample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Stock remaining after a reservation or release")
+public record StockLevel(
+        @Schema(description = "Product identifier", example = "1")
+        Long productId,
+
+        @Schema(description = "Units still available", example = "48")
+        int stock
+) {
+}
@@ -0,0 +1,16 @@
+package com.hackerrank.sample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Number of units to reserve or release")
+public record StockRequest(
+        @Schema(description = "Units, at least 1", example = "2")
+        @NotNull(message = "Quantity is mandatory")
+        @Min(1)
+        @Max(1_000_000)
+        Integer quantity
+) {
+}
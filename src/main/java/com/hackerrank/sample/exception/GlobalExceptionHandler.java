@@ -1,6 +1,8 @@
 package com.hackerrank.sample.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
@@ -41,6 +43,31 @@ public class GlobalExceptionHandler {
         return createProblemDetail(HttpStatus.BAD_REQUEST, ex.getMessage(), "Bad Request");
     }
 
+    /**
+     * Handles If-Match preconditions that no longer hold.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ProblemDetail handlePreconditionFailed(final PreconditionFailedException ex) {
+        return createProblemDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), "Precondition Failed");
+    }
+
+    /**
+     * Handles reservations that exceed the available stock.
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ProblemDetail handleInsufficientStock(final InsufficientStockException ex) {
+        return createProblemDetail(HttpStatus.CONFLICT, ex.getMessage(), "Insufficient Stock");
+    }
+
+    /**
+     * Handles concurrent updates detected by the entity version check.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLock(final OptimisticLockingFailureException ex) {
+        return createProblemDetail(HttpStatus.CONFLICT,
+                "Product was modified concurrently; reload it and retry", "Concurrent Modification");
+    }
+
     /**
      * Handles @Valid annotation failures.
      */
@@ -53,6 +80,19 @@ public class GlobalExceptionHandler {
         return createProblemDetail(HttpStatus.BAD_REQUEST, "Validation failed: " + errors, "Validation Error");
     }
 
+    /**
+     * Handles validation failures raised by the service layer, e.g. a merge patch whose result is invalid.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ProblemDetail handleConstraintViolations(final ConstraintViolationException ex) {
+        final var errors = ex.getConstraintViolations().stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+
+        return createProblemDetail(HttpStatus.BAD_REQUEST, "Validation failed: " + errors, "Validation Error");
+    }
+
     /**
      * Handles parameter type mismatches in URLs.
      */
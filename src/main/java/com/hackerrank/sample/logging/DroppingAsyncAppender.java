@@ -0,0 +1,256 @@
+package com.hackerrank.sample.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hands events to a single worker thread that writes them to the attached appenders, so request threads
+ * never wait on the console. Unlike Logback's {@code AsyncAppender}, the queue is lock-free (a
+ * {@link ConcurrentLinkedQueue} bounded by a CAS-reserved slot count) and a full queue never blocks: the
+ * {@link DropPolicy} decides which event is lost, and every loss is counted per level.
+ */
+public class DroppingAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    public static final List<Level> LEVELS = List.of(Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * What to give up when an event arrives and the queue is full.
+     */
+    public enum DropPolicy {
+        /** Drop the incoming event. */
+        DROP_NEWEST,
+        /** Evict the oldest queued event to make room for the incoming one. */
+        DROP_OLDEST,
+        /** Drop incoming events below WARN; WARN and ERROR evict the oldest queued event instead. */
+        KEEP_WARNINGS
+    }
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final ConcurrentLinkedQueue<ILoggingEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final Map<Level, LongAdder> dropped = LEVELS.stream()
+            .collect(Collectors.toUnmodifiableMap(Function.identity(), level -> new LongAdder()));
+
+    private int queueSize = 8192;
+    private DropPolicy dropPolicy = DropPolicy.KEEP_WARNINGS;
+    private int maxFlushTime = 1000;
+
+    private volatile Thread worker;
+    private volatile boolean workerParked;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to [" + name + "]");
+            return;
+        }
+        if (queueSize < 1) {
+            addError("Invalid queueSize " + queueSize + " for [" + name + "]");
+            return;
+        }
+
+        worker = Thread.ofPlatform().daemon().name("logback-" + name).unstarted(this::drain);
+        super.start();
+        worker.start();
+    }
+
+    /**
+     * Flushes what is still queued for at most {@code maxFlushTime} milliseconds, then stops the attached
+     * appenders. Events that could not be flushed in time are counted as dropped.
+     */
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(worker);
+
+        try {
+            worker.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Gave up flushing [" + name + "] after " + maxFlushTime + " ms");
+        }
+    }
+
+    @Override
+    protected void append(final ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+
+        if (!reserveSlot(event)) {
+            countDropped(event);
+            return;
+        }
+        queue.offer(event);
+
+        if (workerParked) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private boolean reserveSlot(final ILoggingEvent event) {
+        while (true) {
+            final var current = reserved.get();
+            if (current < queueSize) {
+                if (reserved.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                continue;
+            }
+            if (!evictsOnFull(event)) {
+                return false;
+            }
+            final var oldest = queue.poll();
+            if (oldest != null) {
+                reserved.decrementAndGet();
+                countDropped(oldest);
+            }
+        }
+    }
+
+    private boolean evictsOnFull(final ILoggingEvent event) {
+        return switch (dropPolicy) {
+            case DROP_NEWEST -> false;
+            case DROP_OLDEST -> true;
+            case KEEP_WARNINGS -> event.getLevel().isGreaterOrEqual(Level.WARN);
+        };
+    }
+
+    /**
+     * Parks when the queue is empty. A producer unparks the worker only when it saw the parked flag; the
+     * flag is set before the queue is re-checked, so an event offered in between is never left waiting.
+     */
+    private void drain() {
+        while (isStarted()) {
+            final var event = queue.poll();
+            if (event != null) {
+                reserved.decrementAndGet();
+                appenders.appendLoopOnAppenders(event);
+                continue;
+            }
+
+            workerParked = true;
+            if (queue.isEmpty() && isStarted()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            workerParked = false;
+        }
+
+        final var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxFlushTime);
+        ILoggingEvent event;
+        while ((event = queue.poll()) != null) {
+            reserved.decrementAndGet();
+            if (System.nanoTime() - deadline < 0) {
+                appenders.appendLoopOnAppenders(event);
+            } else {
+                countDropped(event);
+            }
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    private void countDropped(final ILoggingEvent event) {
+        final var counter = dropped.get(event.getLevel());
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Events of the given level lost to a full queue or to an unfinished flush on shutdown.
+     */
+    public long getDroppedCount(final Level level) {
+        final var counter = dropped.get(level);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Events accepted but not yet written.
+     */
+    public int getQueueDepth() {
+        return reserved.get();
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(final int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public DropPolicy getDropPolicy() {
+        return dropPolicy;
+    }
+
+    public void setDropPolicy(final DropPolicy dropPolicy) {
+        this.dropPolicy = dropPolicy;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    public void setMaxFlushTime(final int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void addAppender(final Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(final String appenderName) {
+        return appenders.getAppender(appenderName);
+    }
+
+    @Override
+    public boolean isAttached(final Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(final Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(final String appenderName) {
+        return appenders.detachAppender(appenderName);
+    }
+}
@@ -0,0 +1,40 @@
+package com.hackerrank.sample.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds Hibernate entity loads and lazy collection fetches to the {@link SqlCounts} of the current request.
+ * Hibernate's own {@code Statistics} are factory-wide, so concurrent requests could not be told apart.
+ * A batch-fetched collection counts once, like the single query that initializes the whole batch.
+ */
+@Component
+@ConditionalOnProperty(name = "products.metrics.sql.enabled", matchIfMissing = true)
+public class HibernateLoadCounter implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    public HibernateLoadCounter(final EntityManagerFactory entityManagerFactory) {
+        final var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void onPostLoad(final PostLoadEvent event) {
+        SqlCounts.entityLoad();
+    }
+
+    @Override
+    public void onInitializeCollection(final InitializeCollectionEvent event) {
+        SqlCounts.collectionFetch();
+    }
+}
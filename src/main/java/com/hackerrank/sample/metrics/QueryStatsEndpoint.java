@@ -0,0 +1,32 @@
+package com.hackerrank.sample.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/querystats}: the endpoints issuing the most SQL per request since startup.
+ * {@code ?limit=} caps the list, 10 by default.
+ */
+@Component
+@Endpoint(id = "querystats")
+@ConditionalOnProperty(name = "products.metrics.sql.enabled", matchIfMissing = true)
+public class QueryStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final RequestQueryStats queryStats;
+
+    public QueryStatsEndpoint(final RequestQueryStats queryStats) {
+        this.queryStats = queryStats;
+    }
+
+    @ReadOperation
+    public List<RouteQueryStats> worst(@Nullable final Integer limit) {
+        return queryStats.worst(limit == null || limit < 1 ? DEFAULT_LIMIT : limit);
+    }
+}
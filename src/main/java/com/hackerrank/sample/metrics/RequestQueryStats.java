@@ -0,0 +1,90 @@
+package com.hackerrank.sample.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running SQL totals per endpoint since startup, keyed by HTTP method and route template so the number of
+ * entries stays bounded by the number of handlers.
+ */
+@Component
+@ConditionalOnProperty(name = "products.metrics.sql.enabled", matchIfMissing = true)
+public class RequestQueryStats {
+
+    private final ConcurrentMap<String, Totals> routes = new ConcurrentHashMap<>();
+
+    void record(final String method, final String uri, final SqlCounts counts) {
+        routes.computeIfAbsent(method + " " + uri, route -> new Totals()).add(counts);
+    }
+
+    /**
+     * Endpoints ordered by mean statements per request, then by slowest request, worst first.
+     */
+    public List<RouteQueryStats> worst(final int limit) {
+        return routes.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(RouteQueryStats::meanStatements)
+                        .thenComparingDouble(RouteQueryStats::maxJdbcMillis)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Totals of one endpoint, or {@code null} when it has not been called yet.
+     */
+    public RouteQueryStats route(final String method, final String uri) {
+        final var route = method + " " + uri;
+        final var totals = routes.get(route);
+        return totals == null ? null : totals.snapshot(route);
+    }
+
+    private static final class Totals {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder collectionFetches = new LongAdder();
+        private final LongAdder jdbcNanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxJdbcNanos = new LongAccumulator(Math::max, 0);
+
+        void add(final SqlCounts counts) {
+            requests.increment();
+            statements.add(counts.statements());
+            rows.add(counts.rows());
+            entityLoads.add(counts.entityLoads());
+            collectionFetches.add(counts.collectionFetches());
+            jdbcNanos.add(counts.jdbcNanos());
+            maxStatements.accumulate(counts.statements());
+            maxJdbcNanos.accumulate(counts.jdbcNanos());
+        }
+
+        RouteQueryStats snapshot(final String route) {
+            final var count = Math.max(1, requests.sum());
+            return new RouteQueryStats(
+                    route,
+                    requests.sum(),
+                    (double) statements.sum() / count,
+                    maxStatements.get(),
+                    (double) rows.sum() / count,
+                    (double) entityLoads.sum() / count,
+                    (double) collectionFetches.sum() / count,
+                    millis(jdbcNanos.sum()) / count,
+                    millis(maxJdbcNanos.get()));
+        }
+
+        private static double millis(final long nanos) {
+            return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
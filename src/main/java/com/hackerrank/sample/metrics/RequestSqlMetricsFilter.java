@@ -0,0 +1,78 @@
+package com.hackerrank.sample.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many SQL statements each request executed, how many rows they touched, how long they took
+ * and how many entities and collections Hibernate loaded for it. Meters are tagged like
+ * {@code http.server.requests} by method and route template so the two can be read side by side; the same
+ * counts feed the per-endpoint totals of {@code /actuator/querystats}.
+ */
+@Component
+@ConditionalOnProperty(name = "products.metrics.sql.enabled", matchIfMissing = true)
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final RequestQueryStats queryStats;
+
+    public RequestSqlMetricsFilter(final MeterRegistry meterRegistry, final RequestQueryStats queryStats) {
+        this.meterRegistry = meterRegistry;
+        this.queryStats = queryStats;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlCounts.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            final var counts = SqlCounts.stop();
+            final var route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            final var uri = route == null ? "UNKNOWN" : route.toString();
+
+            summary("http.server.requests.sql.statements", "Statements executed per request", request, uri)
+                    .record(counts.statements());
+            summary("http.server.requests.sql.rows", "Rows read or written per request", request, uri)
+                    .record(counts.rows());
+            summary("http.server.requests.sql.entity.loads", "Entities loaded by Hibernate per request", request, uri)
+                    .record(counts.entityLoads());
+            summary("http.server.requests.sql.collection.fetches", "Collections fetched by Hibernate per request",
+                    request, uri)
+                    .record(counts.collectionFetches());
+            Timer.builder("http.server.requests.sql.time")
+                    .description("Time spent executing SQL statements per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(counts.jdbcNanos(), TimeUnit.NANOSECONDS);
+            queryStats.record(request.getMethod(), uri, counts);
+        }
+    }
+
+    private DistributionSummary summary(
+            final String name, final String description, final HttpServletRequest request, final String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
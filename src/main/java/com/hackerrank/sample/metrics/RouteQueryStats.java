@@ -0,0 +1,17 @@
+package com.hackerrank.sample.metrics;
+
+/**
+ * SQL cost of one endpoint, averaged over every request it served.
+ */
+public record RouteQueryStats(
+        String route,
+        long requests,
+        double meanStatements,
+        long maxStatements,
+        double meanRows,
+        double meanEntityLoads,
+        double meanCollectionFetches,
+        double meanJdbcMillis,
+        double maxJdbcMillis
+) {
+}
@@ -0,0 +1,120 @@
+package com.hackerrank.sample.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Wraps connections so every statement executed, the time it took, and every row read
+ * ({@link ResultSet#next()}) or written (update counts) is added to the {@link SqlCounts} of the current
+ * request. A JDBC batch counts as one statement, as it is one round trip. Outside a counted request the
+ * wrappers only delegate.
+ *
+ * <p>Extends {@link DelegatingDataSource}, so {@code unwrap} still reaches the Hikari pool for its metrics
+ * and health checks. The wrapper replaces the pool as the bean Spring destroys, so {@link #close()} passes
+ * shutdown on to it.
+ */
+public class SqlCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public SqlCountingDataSource(final DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), SqlCountingDataSource::onConnection);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), SqlCountingDataSource::onConnection);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Object onConnection(final Method method, final Object result, final long elapsedNanos) {
+        if (result instanceof CallableStatement statement) {
+            return wrap(CallableStatement.class, statement, SqlCountingDataSource::onStatement);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return wrap(PreparedStatement.class, statement, SqlCountingDataSource::onStatement);
+        }
+        if (result instanceof Statement statement) {
+            return wrap(Statement.class, statement, SqlCountingDataSource::onStatement);
+        }
+        return result;
+    }
+
+    private static Object onStatement(final Method method, final Object result, final long elapsedNanos) {
+        switch (method.getName()) {
+            case "executeQuery", "execute" -> SqlCounts.statement(0, elapsedNanos);
+            case "executeUpdate", "executeLargeUpdate" ->
+                    SqlCounts.statement(((Number) result).longValue(), elapsedNanos);
+            case "executeBatch" ->
+                    SqlCounts.statement(Arrays.stream((int[]) result).asLongStream().sum(), elapsedNanos);
+            case "executeLargeBatch" -> SqlCounts.statement(Arrays.stream((long[]) result).sum(), elapsedNanos);
+            default -> {
+                // Not an execution
+            }
+        }
+        if (result instanceof ResultSet resultSet && !method.getName().equals("getGeneratedKeys")) {
+            return wrap(ResultSet.class, resultSet, SqlCountingDataSource::onResultSet);
+        }
+        return result;
+    }
+
+    private static Object onResultSet(final Method method, final Object result, final long elapsedNanos) {
+        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            SqlCounts.row();
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(final Class<T> type, final T target, final AfterCall afterCall) {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return args[0] == proxy;
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    // Delegated below
+                }
+            }
+
+            final Object result;
+            final var start = System.nanoTime();
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return afterCall.apply(method, result, System.nanoTime() - start);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(Method method, Object result, long elapsedNanos);
+    }
+}
@@ -0,0 +1,96 @@
+package com.hackerrank.sample.metrics;
+
+/**
+ * Statements executed, rows read or written, time spent executing statements and Hibernate entity loads and
+ * collection fetches on the current thread while a request is being counted.
+ * Counting is thread-confined: work handed to other threads (streamed exports, the stock ledger flush) is
+ * not attributed to the request.
+ */
+public final class SqlCounts {
+
+    private static final ThreadLocal<SqlCounts> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long jdbcNanos;
+    private long entityLoads;
+    private long collectionFetches;
+
+    private SqlCounts() {
+    }
+
+    /**
+     * Starts counting on this thread, replacing any counts left over.
+     */
+    public static SqlCounts start() {
+        final var counts = new SqlCounts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * Stops counting on this thread and returns what was counted since {@link #start()}.
+     */
+    public static SqlCounts stop() {
+        final var counts = CURRENT.get();
+        CURRENT.remove();
+        return counts == null ? new SqlCounts() : counts;
+    }
+
+    /**
+     * Counts of the request running on this thread, or {@code null} when nothing is being counted.
+     */
+    public static SqlCounts current() {
+        return CURRENT.get();
+    }
+
+    static void statement(final long rowsAffected, final long elapsedNanos) {
+        final var counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+            counts.rows += Math.max(0, rowsAffected);
+            counts.jdbcNanos += elapsedNanos;
+        }
+    }
+
+    static void row() {
+        final var counts = CURRENT.get();
+        if (counts != null) {
+            counts.rows++;
+        }
+    }
+
+    static void entityLoad() {
+        final var counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    static void collectionFetch() {
+        final var counts = CURRENT.get();
+        if (counts != null) {
+            counts.collectionFetches++;
+        }
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long jdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public long entityLoads() {
+        return entityLoads;
+    }
+
+    public long collectionFetches() {
+        return collectionFetches;
+    }
+}
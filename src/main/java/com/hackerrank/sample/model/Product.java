@@ -3,6 +3,9 @@ package com.hackerrank.sample.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -10,13 +13,24 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Updates are generated per flush with only the dirty columns ({@link DynamicUpdate}), so changing the stock
+ * of a product writes the stock and version columns and nothing else.
+ */
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "products")
+@DynamicUpdate
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_price", columnList = "price"),
+        @Index(name = "idx_products_condition_price", columnList = "condition, price"),
+        @Index(name = "idx_products_seller_price", columnList = "seller_name, price"),
+        @Index(name = "idx_products_stock", columnList = "stock"),
+        @Index(name = "idx_products_title", columnList = "title")
+})
 public class Product implements Serializable {
 
     @Serial
@@ -65,12 +79,25 @@ public class Product implements Serializable {
     @NotBlank(message = "Delivery estimate is mandatory")
     private String estimatedDelivery;
 
+    /**
+     * Batch-fetched so a page of N products loads all galleries with one IN query instead of N lazy selects.
+     */
     @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 1000)
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "image_url")
     @Builder.Default
     private List<@NotBlank String> imageUrls = new ArrayList<>();
 
+    /**
+     * Incremented on every update, including gallery changes; backs the product's ETag. Rows inserted
+     * outside JPA (seed data, JDBC batches) start at the column default.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public enum Condition {
         NEW, USED
     }
@@ -0,0 +1,185 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.model.Product;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access for bulk loads and exports. Hibernate cannot batch inserts of {@code IDENTITY} entities,
+ * but the driver can: rows are sent with {@code executeBatch()} and the generated ids are read back from the
+ * same batch. Callers own the transaction.
+ */
+@Repository
+public class ProductBatchRepository {
+
+    private static final String INSERT_PRODUCT = """
+            INSERT INTO products (title, description, price, stock, condition, seller_name, seller_rating,
+                                  shipping_cost, estimated_delivery)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_IMAGE = """
+            INSERT INTO product_images (product_id, image_url)
+            VALUES (?, ?)
+            """;
+
+    private static final String SELECT_ALL_WITH_IMAGES = """
+            SELECT p.id, p.title, p.description, p.price, p.stock, p.condition, p.seller_name, p.seller_rating,
+                   p.shipping_cost, p.estimated_delivery, i.image_url
+            FROM products p
+            LEFT JOIN product_images i ON i.product_id = p.id
+            ORDER BY p.id
+            """;
+
+    private static final String ADD_STOCK = """
+            UPDATE products SET stock = stock + ?, version = version + 1
+            WHERE id = ?
+            """;
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public ProductBatchRepository(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+    }
+
+    /**
+     * Walks the whole catalog, images included, with one forward-only query ordered by id. Rows are grouped
+     * back into products as they arrive, so memory stays bounded by a single product regardless of catalog
+     * size. The products handed to {@code consumer} are plain objects, never attached to a persistence context.
+     */
+    public void streamAll(final Consumer<Product> consumer) {
+        final var current = new Product[1];
+
+        streamingJdbcTemplate.query(SELECT_ALL_WITH_IMAGES, (RowCallbackHandler) row -> {
+            final var id = row.getLong("id");
+            if (current[0] == null || !current[0].getId().equals(id)) {
+                if (current[0] != null) {
+                    consumer.accept(current[0]);
+                }
+                current[0] = mapProduct(row, id);
+            }
+
+            final var imageUrl = row.getString("image_url");
+            if (imageUrl != null) {
+                current[0].getImageUrls().add(imageUrl);
+            }
+        });
+
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+        }
+    }
+
+    /**
+     * Inserts the products and their image rows in two JDBC batches. A driver that does not hand back one
+     * generated key per row fails the batch rather than pairing images with the wrong product.
+     *
+     * @return Generated ids, in the same order as {@code requests}.
+     */
+    public List<Long> insertAll(final List<ProductRequest> requests) {
+        final var ids = insertProducts(requests);
+        insertImages(requests, ids);
+        return ids;
+    }
+
+    /**
+     * Adds a signed stock delta to each product in one JDBC batch.
+     *
+     * @return Rows updated per delta, in iteration order; 0 means the product no longer exists.
+     */
+    public int[] addStock(final List<Map.Entry<Long, Long>> deltas) {
+        return jdbcTemplate.batchUpdate(ADD_STOCK, deltas.stream()
+                .map(delta -> new Object[]{delta.getValue(), delta.getKey()})
+                .toList());
+    }
+
+    private List<Long> insertProducts(final List<ProductRequest> requests) {
+        return jdbcTemplate.execute(connection -> connection.prepareStatement(INSERT_PRODUCT, new String[]{"id"}),
+                (PreparedStatement statement) -> {
+                    for (final var request : requests) {
+                        bindProduct(statement, request);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+
+                    final var ids = new ArrayList<Long>(requests.size());
+                    try (var keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                    if (ids.size() != requests.size()) {
+                        throw new IncorrectResultSizeDataAccessException(
+                                "Batch insert returned " + ids.size() + " generated ids for " + requests.size() + " products",
+                                requests.size(), ids.size());
+                    }
+                    return ids;
+                });
+    }
+
+    private void insertImages(final List<ProductRequest> requests, final List<Long> ids) {
+        final var rows = new ArrayList<Object[]>();
+        for (int i = 0; i < requests.size(); i++) {
+            final var imageUrls = requests.get(i).imageUrls();
+            if (imageUrls == null) {
+                continue;
+            }
+            for (final var url : imageUrls) {
+                rows.add(new Object[]{ids.get(i), url});
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE, rows);
+        }
+    }
+
+    private Product mapProduct(final ResultSet row, final long id) throws SQLException {
+        final var sellerRating = row.getObject("seller_rating", Double.class);
+        return Product.builder()
+                .id(id)
+                .title(row.getString("title"))
+                .description(row.getString("description"))
+                .price(row.getBigDecimal("price"))
+                .stock(row.getInt("stock"))
+                .condition(Product.Condition.valueOf(row.getString("condition")))
+                .sellerName(row.getString("seller_name"))
+                .sellerRating(sellerRating)
+                .shippingCost(row.getBigDecimal("shipping_cost"))
+                .estimatedDelivery(row.getString("estimated_delivery"))
+                .build();
+    }
+
+    private void bindProduct(final PreparedStatement statement, final ProductRequest request) throws SQLException {
+        statement.setString(1, request.title());
+        statement.setString(2, request.description());
+        statement.setBigDecimal(3, request.price());
+        statement.setInt(4, request.stock());
+        statement.setString(5, request.condition().name());
+        statement.setString(6, request.sellerName());
+        if (request.sellerRating() == null) {
+            statement.setNull(7, Types.DOUBLE);
+        } else {
+            statement.setDouble(7, request.sellerRating());
+        }
+        statement.setBigDecimal(8, request.shippingCost());
+        statement.setString(9, request.estimatedDelivery());
+    }
+}
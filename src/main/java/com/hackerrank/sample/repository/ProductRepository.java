@@ -1,9 +1,92 @@
 package com.hackerrank.sample.repository;
 
 import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Filtered listings go through {@link JpaSpecificationExecutor}; keyset pages use its fluent {@code scroll}.
+ */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-}
\ No newline at end of file
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    /**
+     * Loads the product and its image gallery in a single joined query.
+     */
+    @Override
+    @EntityGraph(attributePaths = "imageUrls")
+    Optional<Product> findById(Long id);
+
+    /**
+     * Loads every product with one of the given ids, image galleries included, in a single joined query.
+     * Rows come back in no particular order.
+     */
+    @EntityGraph(attributePaths = "imageUrls")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Reads only the version column, so conditional requests can be answered without loading the row.
+     */
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Takes {@code quantity} units in a single conditional statement: the row lock taken by the UPDATE
+     * serializes concurrent reservers and the {@code stock >= quantity} guard makes overselling impossible.
+     *
+     * Bulk updates bypass the persistence context, so it is flushed before and cleared after to never
+     * serve a stale managed copy of the product.
+     *
+     * @return 1 if the units were reserved, 0 if the product is missing or has too little stock.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.stock = p.stock - :quantity, p.version = p.version + 1 "
+            + "where p.id = :id and p.stock >= :quantity")
+    int reserveStock(Long id, int quantity);
+
+    /**
+     * Returns {@code quantity} units in a single statement. The guard is written as a subtraction so the
+     * check itself cannot overflow the {@code int} column.
+     *
+     * @return 1 if the units were returned, 0 if the product is missing or the stock would exceed
+     *         {@link Integer#MAX_VALUE}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.stock = p.stock + :quantity, p.version = p.version + 1 "
+            + "where p.id = :id and p.stock <= " + Integer.MAX_VALUE + " - :quantity")
+    int releaseStock(Long id, int quantity);
+
+    @Query("select p.stock from Product p where p.id = :id")
+    Optional<Integer> findStockById(Long id);
+
+    @Query("select p.condition as value, count(p) as total from Product p group by p.condition")
+    List<FacetCount<Condition>> countPerCondition();
+
+    @Query("select p.sellerName as value, count(p) as total from Product p group by p.sellerName")
+    List<FacetCount<String>> countPerSeller();
+
+    /**
+     * Served from {@code idx_products_price}; cumulative counts at each boundary give the price histogram.
+     */
+    long countByPriceLessThan(BigDecimal price);
+
+    /**
+     * Row of a {@code GROUP BY} over one facet column.
+     */
+    interface FacetCount<T> {
+
+        T getValue();
+
+        long getTotal();
+    }
+}
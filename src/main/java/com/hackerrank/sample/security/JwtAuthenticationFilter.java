@@ -1,6 +1,10 @@
 package com.hackerrank.sample.security;
 
+import com.hackerrank.sample.exception.InvalidTokenException;
 import com.hackerrank.sample.service.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,15 +21,22 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+    private final Timer verifySuccess;
+    private final Timer verifyFailure;
 
-    public JwtAuthenticationFilter(final JwtService jwtService) {
+    public JwtAuthenticationFilter(final JwtService jwtService, final MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
+        this.meterRegistry = meterRegistry;
+        this.verifySuccess = verifyTimer(meterRegistry, "success");
+        this.verifyFailure = verifyTimer(meterRegistry, "failure");
     }
 
     /**
@@ -49,7 +60,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final var token = authHeader.substring(7);
 
         try {
-            final var username = jwtService.extractUsername(token);
+            final var username = verify(token);
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 MDC.put("user", username);
@@ -73,4 +84,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             MDC.clear();
         }
     }
+
+    /**
+     * Times token verification, cache hits included, and counts rejected tokens by the reason the parser gave.
+     */
+    private String verify(final String token) {
+        final var start = System.nanoTime();
+        try {
+            final var username = jwtService.extractUsername(token);
+            verifySuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return username;
+        } catch (InvalidTokenException e) {
+            verifyFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder("jwt.verify.failures")
+                    .description("Bearer tokens rejected by verification")
+                    .tag("reason", e.getCause() == null ? "blank" : e.getCause().getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    private static Timer verifyTimer(final MeterRegistry meterRegistry, final String outcome) {
+        return Timer.builder("jwt.verify")
+                .description("Latency of bearer token verification")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.hackerrank.sample.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -16,23 +21,58 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class RateLimitingFilter implements Filter {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimitingFilter.class);
+    private static final String PRODUCTS = "/products";
+    private static final String OTHER_ROUTE = "other";
+    private static final List<String> COLLECTION_ACTIONS = List.of("batch", "import", "export", "facets");
+    private static final List<String> STOCK_ACTIONS = List.of("reserve", "release");
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Cache<String, Bucket> buckets;
+    private final MeterRegistry meterRegistry;
     private final int capacity;
     private final int tokensPerMinute;
+    private final Map<String, Decisions> decisionsByRoute;
 
+    /**
+     * Buckets live in a size-capped Caffeine store (lock-striped over ConcurrentHashMap bins) so a scan from
+     * many source IPs cannot grow the heap without limit. Expiry only drops a bucket once it has been idle for
+     * a full refill, so expiry never grants a client more tokens than waiting would. The size cap is a memory
+     * bound, not a fairness one: when more than {@code maxBuckets} clients are active, Caffeine may evict the
+     * bucket of a client that is still throttled, and its next request starts from a full bucket.
+     */
     public RateLimitingFilter(
             @Value("${rate.limit.capacity:100}") final int capacity,
-            @Value("${rate.limit.tokens:100}") final int tokensPerMinute) {
+            @Value("${rate.limit.tokens:100}") final int tokensPerMinute,
+            @Value("${rate.limit.max-buckets:100000}") final long maxBuckets,
+            @Value("${rate.limit.idle-timeout:10m}") final Duration idleTimeout,
+            final MeterRegistry meterRegistry) {
+        if (capacity < 1 || tokensPerMinute < 1) {
+            throw new IllegalArgumentException("rate.limit.capacity and rate.limit.tokens must be at least 1");
+        }
         this.capacity = capacity;
         this.tokensPerMinute = tokensPerMinute;
+        this.meterRegistry = meterRegistry;
+
+        final var fullRefill = Duration.ofMillis(Math.ceilDiv(60_000L * capacity, tokensPerMinute));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout.compareTo(fullRefill) < 0 ? fullRefill : idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+        this.decisionsByRoute = routes().stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), route -> new Decisions(
+                        decisionCounter(meterRegistry, route, "allowed"),
+                        decisionCounter(meterRegistry, route, "rejected"))));
     }
 
     /**
@@ -56,17 +96,92 @@ public class RateLimitingFilter implements Filter {
         }
 
         var clientIp = httpRequest.getRemoteAddr();
-        var bucket = buckets.computeIfAbsent(clientIp, k -> createNewBucket());
+        // The mapping function runs under ConcurrentHashMap's bin lock, but only allocates: a virtual thread
+        // is pinned for microseconds and never while blocking, so this is not a carrier-starvation hazard.
+        var bucket = buckets.get(clientIp, k -> createNewBucket());
+        var decisions = decisionsByRoute.get(route(requestUri));
 
         if (bucket.tryConsume(1)) {
+            decisions.allowed().increment();
             chain.doFilter(request, response);
             return;
         }
 
+        decisions.rejected().increment();
+
         log.warn("Rate limit triggered for IP: {} on URI: {}", clientIp, requestUri);
         sendRateLimitError(httpResponse);
     }
 
+    /**
+     * Runs before any handler is resolved, so the path is matched against the product routes by hand. Anything
+     * that is not one of them is counted as {@code other}, which keeps the {@code route} tag to a fixed set of
+     * values whatever clients send.
+     */
+    static String route(final String requestUri) {
+        if (requestUri.equals(PRODUCTS)) {
+            return PRODUCTS;
+        }
+        if (!requestUri.startsWith(PRODUCTS + "/")) {
+            return OTHER_ROUTE;
+        }
+        var rest = requestUri.substring(PRODUCTS.length() + 1);
+        if (COLLECTION_ACTIONS.contains(rest)) {
+            return PRODUCTS + "/" + rest;
+        }
+        var slash = rest.indexOf('/');
+        if (!isNumeric(slash < 0 ? rest : rest.substring(0, slash))) {
+            return OTHER_ROUTE;
+        }
+        if (slash < 0) {
+            return PRODUCTS + "/{id}";
+        }
+        var action = rest.substring(slash + 1);
+        if (action.startsWith("stock/") && STOCK_ACTIONS.contains(action.substring("stock/".length()))) {
+            return PRODUCTS + "/{id}/" + action;
+        }
+        return OTHER_ROUTE;
+    }
+
+    static List<String> routes() {
+        var routes = new ArrayList<String>();
+        routes.add(PRODUCTS);
+        COLLECTION_ACTIONS.forEach(action -> routes.add(PRODUCTS + "/" + action));
+        routes.add(PRODUCTS + "/{id}");
+        STOCK_ACTIONS.forEach(action -> routes.add(PRODUCTS + "/{id}/stock/" + action));
+        routes.add(OTHER_ROUTE);
+        return List.copyOf(routes);
+    }
+
+    private static boolean isNumeric(final String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (segment.charAt(i) < '0' || segment.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Counter decisionCounter(final MeterRegistry meterRegistry, final String route,
+                                           final String outcome) {
+        return Counter.builder("ratelimit.requests")
+                .description("Rate limiter decisions on product endpoints")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Decisions(Counter allowed, Counter rejected) {
+    }
+
+    long trackedClients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
     private Bucket createNewBucket() {
         var refill = Refill.greedy(tokensPerMinute, Duration.ofMinutes(1));
         var limit = Bandwidth.classic(capacity, refill);
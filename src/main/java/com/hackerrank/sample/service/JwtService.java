@@ -1,26 +1,54 @@
 package com.hackerrank.sample.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.hackerrank.sample.config.JwtProperties;
 import com.hackerrank.sample.exception.InvalidTokenException;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Service
 public class JwtService {
 
     private final SecretKey secretKey;
     private final long expirationTime;
+    private final Clock clock;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
+    @Autowired
     public JwtService(final JwtProperties jwtProperties) {
+        this(jwtProperties, Clock.systemUTC());
+    }
+
+    JwtService(final JwtProperties jwtProperties, final Clock clock) {
         this.secretKey = Keys.hmacShaKeyFor(jwtProperties.secret().getBytes(StandardCharsets.UTF_8));
         this.expirationTime = jwtProperties.expiration();
+        this.clock = clock;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.cacheSize())
+                .expireAfter(new UntilTokenExpires(clock))
+                .build();
     }
 
     /**
@@ -30,7 +58,7 @@ public class JwtService {
      * @return A compact URL-safe JWT string.
      */
     public String generateToken(final String username) {
-        final Instant now = Instant.now();
+        final Instant now = clock.instant();
         return Jwts.builder()
                 .subject(username)
                 .issuedAt(Date.from(now))
@@ -41,21 +69,70 @@ public class JwtService {
 
     /**
      * Extracts the username (subject) from a given JWT token.
+     * Tokens that already passed verification are served from a bounded cache keyed by their SHA-256
+     * digest, so clients replaying the same token skip signature verification and JSON parsing.
+     * Cache entries never outlive the token's own expiration.
      *
      * @param token The JWT token to be parsed.
      * @return The extracted username.
      * @throws InvalidTokenException if the token is expired, tampered with, or malformed.
      */
     public String extractUsername(final String token) {
+        if (token == null || token.isBlank()) {
+            throw new InvalidTokenException("Could not extract username from token", null);
+        }
+
+        final var digest = digest(token);
+        final var cached = verifiedTokens.getIfPresent(digest);
+
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            return cached.subject();
+        }
+
+        final var claims = parseClaims(token);
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant()));
+        }
+        return claims.getSubject();
+    }
+
+    Claims parseClaims(final String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
             throw new InvalidTokenException("Could not extract username from token", e);
         }
     }
-}
\ No newline at end of file
+
+    private static String digest(final String token) {
+        try {
+            final var sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(String subject, Instant expiresAt) {
+    }
+
+    private record UntilTokenExpires(Clock clock) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(final String key, final VerifiedToken value, final long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final VerifiedToken value,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final VerifiedToken value,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.BatchResponse;
+import com.hackerrank.sample.dto.ProductRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.List;
+
+public interface ProductBulkService {
+    /**
+     * Validates and creates many products at once, reporting the outcome of every item.
+     */
+    BatchResponse createProducts(final List<ProductRequest> requests);
+
+    /**
+     * Writes every product as newline-delimited JSON, flushing as rows are read.
+     */
+    void exportProducts(final OutputStream outputStream) throws IOException;
+
+    /**
+     * Reads products record by record and creates them in chunks, writing rejected lines and running
+     * totals to {@code report} as newline-delimited JSON while the upload is still being read.
+     */
+    void importProducts(final Reader reader, final ImportFormat format, final OutputStream report) throws IOException;
+
+    enum ImportFormat {
+        NDJSON, CSV
+    }
+}
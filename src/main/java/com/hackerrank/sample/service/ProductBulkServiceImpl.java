@@ -0,0 +1,372 @@
+package com.hackerrank.sample.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.hackerrank.sample.dto.BatchItemResult;
+import com.hackerrank.sample.dto.BatchResponse;
+import com.hackerrank.sample.dto.ImportProgress;
+import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.repository.ProductBatchRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@Timed
+public class ProductBulkServiceImpl implements ProductBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBulkServiceImpl.class);
+    private static final int EXPORT_FLUSH_EVERY = 100;
+    private static final String IMAGE_URLS_COLUMN = "imageUrls";
+
+    private final ProductBatchRepository productBatchRepository;
+    private final ProductFacetCounters facetCounters;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectReader requestReader;
+    private final ObjectReader csvReader;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public ProductBulkServiceImpl(
+            final ProductBatchRepository productBatchRepository,
+            final ProductFacetCounters facetCounters,
+            final Validator validator,
+            final PlatformTransactionManager transactionManager,
+            final ObjectMapper objectMapper,
+            @Value("${products.batch.chunk-size:500}") final int chunkSize,
+            @Value("${products.batch.max-items:10000}") final int maxItems) {
+        this.productBatchRepository = productBatchRepository;
+        this.facetCounters = facetCounters;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        this.requestReader = objectMapper.readerFor(ProductRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.TRIM_SPACES, CsvParser.Feature.SKIP_EMPTY_LINES,
+                        CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+                .build()
+                .readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Invalid items are reported and skipped; valid ones are written in chunks of {@code chunkSize},
+     * each chunk in its own transaction so a storage failure only rejects the items of that chunk.
+     */
+    @Override
+    public BatchResponse createProducts(final List<ProductRequest> requests) {
+        if (requests == null) {
+            throw new BadResourceRequestException("The request body must be a JSON array of products");
+        }
+        if (requests.size() > maxItems) {
+            throw new BadResourceRequestException("A batch cannot contain more than " + maxItems + " products");
+        }
+
+        log.info("Processing bulk creation of {} products", requests.size());
+
+        final var results = new BatchItemResult[requests.size()];
+        final var chunk = new ChunkWriter(result -> results[(int) result.index()] = result, () -> {
+        });
+
+        for (int i = 0; i < requests.size(); i++) {
+            chunk.add(i, requests.get(i));
+        }
+        chunk.flush();
+
+        final var response = BatchResponse.of(List.of(results));
+        log.info("Bulk creation finished: {} created, {} rejected", response.created(), response.rejected());
+        return response;
+    }
+
+    /**
+     * Streams straight from a forward-only cursor: nothing is collected into a list and no entity is
+     * attached to the persistence context, so memory use does not depend on catalog size. Output is
+     * flushed every {@code EXPORT_FLUSH_EVERY} rows so consumers receive data as it is read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(final OutputStream outputStream) throws IOException {
+        log.info("Starting catalog export");
+
+        final var exported = new long[1];
+        try (var generator = ndjsonWriter.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            productBatchRepository.streamAll(product -> {
+                try {
+                    ndjsonWriter.writeValue(generator, ProductServiceImpl.mapToResponse(product));
+                    generator.writeRaw('\n');
+                    if (++exported[0] % EXPORT_FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Catalog export finished: {} products", exported[0]);
+    }
+
+    /**
+     * Only the records of the chunk being built are held in memory. Created records are only counted;
+     * rejected ones are written to the report with their line number, and running totals follow every
+     * committed chunk so clients can follow progress on long uploads.
+     */
+    @Override
+    public void importProducts(final Reader reader, final ImportFormat format, final OutputStream report)
+            throws IOException {
+        log.info("Starting {} product import", format);
+
+        try (var generator = ndjsonWriter.createGenerator(report)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            final var progress = new ImportReport(generator);
+            final var chunk = new ChunkWriter(progress, progress::flush);
+
+            switch (format) {
+                case NDJSON -> readNdjson(reader, chunk);
+                case CSV -> readCsv(reader, chunk);
+            }
+            chunk.flush();
+
+            progress.complete();
+            log.info("Product import finished: {} created, {} rejected", progress.created, progress.rejected);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void readNdjson(final Reader reader, final ChunkWriter chunk) throws IOException {
+        final var lines = new BufferedReader(reader);
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                chunk.add(lineNumber, requestReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                chunk.reject(lineNumber, describe(e));
+            }
+        }
+    }
+
+    /**
+     * Columns are matched by the header row; unknown columns and extra trailing cells are ignored and
+     * {@code imageUrls} holds the gallery separated by {@code |}. A structurally broken row (e.g. an
+     * unclosed quote) stops the import after being reported, because the parser cannot find the start
+     * of the next record.
+     */
+    private void readCsv(final Reader reader, final ChunkWriter chunk) throws IOException {
+        try (MappingIterator<Map<String, String>> rows = csvReader.readValues(reader)) {
+            while (true) {
+                final Map<String, String> row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    chunk.reject(rows.getCurrentLocation().getLineNr(), "Malformed CSV: " + e.getOriginalMessage());
+                    return;
+                }
+
+                final var lineNumber = rows.getParser().currentTokenLocation().getLineNr();
+                try {
+                    chunk.add(lineNumber, requestReader.readValue(toJson(row)));
+                } catch (JsonProcessingException e) {
+                    chunk.reject(lineNumber, describe(e));
+                }
+            }
+        }
+    }
+
+    private ObjectNode toJson(final Map<String, String> row) {
+        final var node = objectMapper.createObjectNode();
+        row.forEach((column, value) -> {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            if (IMAGE_URLS_COLUMN.equals(column)) {
+                final var images = node.putArray(column);
+                Arrays.stream(value.split("\\|")).map(String::strip).forEach(images::add);
+            } else {
+                node.put(column, value);
+            }
+        });
+        return node;
+    }
+
+    private static String describe(final JsonProcessingException e) {
+        if (e instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            final var path = mapping.getPath().stream()
+                    .map(reference -> reference.getFieldName() != null
+                            ? reference.getFieldName()
+                            : "[" + reference.getIndex() + "]")
+                    .collect(Collectors.joining("."));
+            return path + ": Unreadable value";
+        }
+        return "Malformed record";
+    }
+
+    private Optional<String> validate(final ProductRequest request) {
+        if (request == null) {
+            return Optional.of("Item is empty");
+        }
+
+        final var violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Accumulates valid records and writes them {@code chunkSize} at a time, each chunk in its own transaction.
+     */
+    private final class ChunkWriter {
+
+        private final List<Long> indexes = new ArrayList<>(chunkSize);
+        private final List<ProductRequest> requests = new ArrayList<>(chunkSize);
+        private final Consumer<BatchItemResult> results;
+        private final Runnable onChunkWritten;
+
+        private ChunkWriter(final Consumer<BatchItemResult> results, final Runnable onChunkWritten) {
+            this.results = results;
+            this.onChunkWritten = onChunkWritten;
+        }
+
+        void add(final long index, final ProductRequest request) {
+            final var violations = validate(request);
+            if (violations.isPresent()) {
+                reject(index, violations.get());
+                return;
+            }
+
+            indexes.add(index);
+            requests.add(request);
+            if (requests.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(final long index, final String error) {
+            results.accept(BatchItemResult.invalid(index, error));
+        }
+
+        void flush() {
+            if (requests.isEmpty()) {
+                return;
+            }
+
+            try {
+                final var ids = transactionTemplate.execute(status -> productBatchRepository.insertAll(requests));
+                requests.forEach(request -> facetCounters.record(null,
+                        new ProductFacetCounters.Key(request.condition(), request.sellerName(), request.price())));
+                for (int i = 0; i < indexes.size(); i++) {
+                    results.accept(BatchItemResult.created(indexes.get(i), ids.get(i)));
+                }
+            } catch (DataAccessException e) {
+                log.error("Bulk chunk of {} products failed: {}", requests.size(), e.getMostSpecificCause().getMessage());
+                indexes.forEach(index -> results.accept(BatchItemResult.failed(index, "Storage error")));
+            }
+
+            indexes.clear();
+            requests.clear();
+            onChunkWritten.run();
+        }
+    }
+
+    /**
+     * Counts outcomes and writes rejected records and running totals as they happen.
+     */
+    private final class ImportReport implements Consumer<BatchItemResult> {
+
+        private final JsonGenerator generator;
+        private long created;
+        private long rejected;
+
+        private ImportReport(final JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void accept(final BatchItemResult result) {
+            if (result.status() == BatchItemResult.Status.CREATED) {
+                created++;
+            } else {
+                rejected++;
+                write(result);
+            }
+        }
+
+        void flush() {
+            write(new ImportProgress(created + rejected, created, rejected, false));
+        }
+
+        void complete() {
+            write(new ImportProgress(created + rejected, created, rejected, true));
+        }
+
+        private void write(final Object value) {
+            try {
+                ndjsonWriter.writeValue(generator, value);
+                generator.writeRaw('\n');
+                if (value instanceof ImportProgress) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hackerrank.sample.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.model.Product;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe tokens. A token carries the values of the sort
+ * properties plus {@code id} of the last row served, so it is only valid for the sort it was issued with.
+ */
+final class ProductCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private static final TypeReference<LinkedHashMap<String, Object>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    private ProductCursor() {
+    }
+
+    static String encode(final ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keyset.getKeys()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    static KeysetScrollPosition decode(final String token, final Sort sort) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        final Map<String, Object> rawKeys;
+        try {
+            rawKeys = MAPPER.readValue(Base64.getUrlDecoder().decode(token), KEYS_TYPE);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadResourceRequestException("Invalid pagination cursor");
+        }
+
+        final var expectedKeys = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        expectedKeys.add("id");
+        if (!rawKeys.keySet().equals(expectedKeys)) {
+            throw new BadResourceRequestException("Pagination cursor does not match the requested sort");
+        }
+
+        final var keys = new LinkedHashMap<String, Object>();
+        rawKeys.forEach((property, value) -> keys.put(property, convert(property, value)));
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Object convert(final String property, final Object value) {
+        try {
+            return MAPPER.convertValue(value, Product.class.getDeclaredField(property).getType());
+        } catch (NoSuchFieldException | IllegalArgumentException e) {
+            throw new BadResourceRequestException("Invalid pagination cursor");
+        }
+    }
+}
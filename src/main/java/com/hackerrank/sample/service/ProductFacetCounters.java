@@ -0,0 +1,244 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.ProductFacets;
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory product counts per condition, seller and price range. Writes adjust the counters once their
+ * transaction commits, so reading the facets costs O(facet values) instead of a {@code GROUP BY} over the
+ * catalog. Writes that bypass the services and updates that race with a reconciliation can leave the
+ * counters off; the periodic {@link #reconcile()} recounts from the database and replaces them.
+ */
+@Component
+public class ProductFacetCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFacetCounters.class);
+
+    private final ProductRepository productRepository;
+    private final List<BigDecimal> priceBoundaries;
+    private final List<String> priceLabels;
+    private final Counter corrections;
+    private volatile Counts counts;
+
+    public ProductFacetCounters(
+            final ProductRepository productRepository,
+            @Value("${products.facets.price-boundaries:10,50,100,500,1000}") final List<BigDecimal> priceBoundaries,
+            final MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.priceBoundaries = priceBoundaries.stream().sorted().distinct().toList();
+        this.priceLabels = labels(this.priceBoundaries);
+        this.corrections = Counter.builder("products.facets.corrections")
+                .description("Facet counts corrected by reconciliation")
+                .register(meterRegistry);
+        this.counts = new Counts(priceLabels.size(), null);
+    }
+
+    /**
+     * Facet values of a product, captured before a write so the old values can be decremented.
+     */
+    public record Key(Condition condition, String seller, BigDecimal price) {
+
+        public static Key of(final Product product) {
+            return new Key(product.getCondition(), product.getSellerName(), product.getPrice());
+        }
+    }
+
+    /**
+     * Moves one product from {@code removed} to {@code added}; either may be null for creations and deletions.
+     * Inside a transaction the change is applied after commit and dropped on rollback.
+     */
+    public void record(final Key removed, final Key added) {
+        if (removed != null && removed.equals(added)) {
+            return;
+        }
+        afterCommit(() -> {
+            final var current = counts;
+            current.add(removed, -1);
+            current.add(added, 1);
+        });
+    }
+
+    /**
+     * Resets every counter once the surrounding transaction commits, e.g. after deleting the catalog.
+     */
+    public void clear() {
+        afterCommit(() -> counts = new Counts(priceLabels.size(), Instant.now()));
+    }
+
+    public ProductFacets snapshot() {
+        final var current = counts;
+
+        final var conditions = new EnumMap<Condition, Long>(Condition.class);
+        current.conditions.forEach((condition, total) -> putIfPositive(conditions, condition, total.sum()));
+
+        final var sellers = new TreeMap<String, Long>();
+        current.sellers.forEach((seller, total) -> putIfPositive(sellers, seller, total.sum()));
+
+        final var priceRanges = new LinkedHashMap<String, Long>();
+        for (int i = 0; i < priceLabels.size(); i++) {
+            putIfPositive(priceRanges, priceLabels.get(i), current.prices.get(i));
+        }
+
+        return new ProductFacets(Collections.unmodifiableMap(conditions), Collections.unmodifiableMap(sellers),
+                Collections.unmodifiableMap(priceRanges), current.reconciledAt);
+    }
+
+    /**
+     * Recounts every facet with one {@code GROUP BY} per column and one indexed count per price boundary,
+     * then swaps the result in. Runs once before the application accepts traffic and then every
+     * {@code products.facets.reconcile-interval}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${products.facets.reconcile-interval:PT5M}",
+            fixedDelayString = "${products.facets.reconcile-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        final var fresh = new Counts(priceLabels.size(), Instant.now());
+        productRepository.countPerCondition().forEach(row -> fresh.conditions.put(row.getValue(), adder(row.getTotal())));
+        productRepository.countPerSeller().stream()
+                .filter(row -> row.getValue() != null)
+                .forEach(row -> fresh.sellers.put(row.getValue(), adder(row.getTotal())));
+
+        long below = 0;
+        for (int i = 0; i < priceBoundaries.size(); i++) {
+            final var cumulative = productRepository.countByPriceLessThan(priceBoundaries.get(i));
+            fresh.prices.set(i, cumulative - below);
+            below = cumulative;
+        }
+        fresh.prices.set(priceBoundaries.size(), productRepository.count() - below);
+
+        final var drift = counts.distanceTo(fresh);
+        counts = fresh;
+        corrections.increment(drift);
+        if (drift > 0) {
+            log.warn("Facet reconciliation corrected {} counts", drift);
+        } else {
+            log.debug("Facet reconciliation found no drift");
+        }
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static LongAdder adder(final long total) {
+        final var adder = new LongAdder();
+        adder.add(total);
+        return adder;
+    }
+
+    private static <K> void putIfPositive(final Map<K, Long> target, final K key, final long total) {
+        if (total > 0) {
+            target.put(key, total);
+        }
+    }
+
+    private static List<String> labels(final List<BigDecimal> boundaries) {
+        final var labels = new ArrayList<String>(boundaries.size() + 1);
+        var lower = "*";
+        for (final var boundary : boundaries) {
+            final var upper = boundary.stripTrailingZeros().toPlainString();
+            labels.add(lower + "-" + upper);
+            lower = upper;
+        }
+        labels.add(lower + "-*");
+        return List.copyOf(labels);
+    }
+
+    private static <K> long distance(final Map<K, LongAdder> left, final Map<K, LongAdder> right) {
+        long distance = 0;
+        for (final var entry : left.entrySet()) {
+            final var other = right.get(entry.getKey());
+            distance += Math.abs(entry.getValue().sum() - (other == null ? 0 : other.sum()));
+        }
+        for (final var entry : right.entrySet()) {
+            if (!left.containsKey(entry.getKey())) {
+                distance += entry.getValue().sum();
+            }
+        }
+        return distance;
+    }
+
+    private int priceBucket(final BigDecimal price) {
+        int bucket = 0;
+        while (bucket < priceBoundaries.size() && price.compareTo(priceBoundaries.get(bucket)) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * One generation of counters; reconciliation replaces the whole generation instead of patching it.
+     */
+    private final class Counts {
+
+        private final Map<Condition, LongAdder> conditions = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> sellers = new ConcurrentHashMap<>();
+        private final AtomicLongArray prices;
+        private final Instant reconciledAt;
+
+        private Counts(final int priceBuckets, final Instant reconciledAt) {
+            this.prices = new AtomicLongArray(priceBuckets);
+            this.reconciledAt = reconciledAt;
+        }
+
+        void add(final Key key, final long delta) {
+            if (key == null) {
+                return;
+            }
+            if (key.condition() != null) {
+                conditions.computeIfAbsent(key.condition(), ignored -> new LongAdder()).add(delta);
+            }
+            if (key.seller() != null) {
+                sellers.computeIfAbsent(key.seller(), ignored -> new LongAdder()).add(delta);
+            }
+            if (key.price() != null) {
+                prices.addAndGet(priceBucket(key.price()), delta);
+            }
+        }
+
+        long distanceTo(final Counts other) {
+            long distance = distance(conditions, other.conditions) + distance(sellers, other.sellers);
+            for (int i = 0; i < prices.length(); i++) {
+                distance += Math.abs(prices.get(i) - other.prices.get(i));
+            }
+            return distance;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.hackerrank.sample.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.dto.ProductResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A product as cached for the read path: the response record plus its UTF-8 JSON and a gzip copy of it,
+ * both rendered once when the entry is loaded so a cache hit only copies bytes to the socket. The arrays
+ * are shared by every reader and must not be modified.
+ */
+public record ProductPayload(ProductResponse product, byte[] json, byte[] gzip) {
+
+    public static ProductPayload of(final ProductResponse product, final ObjectMapper objectMapper) {
+        try {
+            final var json = objectMapper.writeValueAsBytes(product);
+            final var buffer = new ByteArrayOutputStream(json.length);
+            try (var gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(json);
+            }
+            return new ProductPayload(product, json, buffer.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize product " + product.id(), e);
+        }
+    }
+
+    public long version() {
+        return product.version();
+    }
+}
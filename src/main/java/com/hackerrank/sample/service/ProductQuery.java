@@ -0,0 +1,89 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.ProductFilter;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.model.Product;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+/**
+ * Turns listing filters into JPA predicates and enforces the sort allowlist. Every filter column and
+ * sortable field is covered by an index declared on {@link Product}, so neither filtering nor ordering
+ * needs a full table scan.
+ */
+final class ProductQuery {
+
+    /**
+     * Indexed, non-nullable columns only: the same allowlist serves keyset seeking, which cannot compare NULLs.
+     */
+    static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "price", "stock");
+
+    private ProductQuery() {
+    }
+
+    static Sort validateSort(final Sort sort) {
+        final var unsupported = sort.stream()
+                .map(Sort.Order::getProperty)
+                .filter(property -> !SORTABLE_FIELDS.contains(property))
+                .findFirst();
+
+        if (unsupported.isPresent()) {
+            throw new BadResourceRequestException("Sorting field '" + unsupported.get() + "' is not supported");
+        }
+        return sort.isSorted() ? sort : Sort.by("id");
+    }
+
+    static Specification<Product> toSpecification(final ProductFilter filter) {
+        if (filter.minPrice() != null && filter.maxPrice() != null
+                && filter.minPrice().compareTo(filter.maxPrice()) > 0) {
+            throw new BadResourceRequestException("minPrice cannot be greater than maxPrice");
+        }
+
+        return (root, query, builder) -> {
+            final var predicates = new ArrayList<Predicate>();
+
+            if (filter.condition() != null) {
+                predicates.add(builder.equal(root.get("condition"), filter.condition()));
+            }
+            if (filter.seller() != null && !filter.seller().isBlank()) {
+                predicates.add(builder.equal(root.get("sellerName"), filter.seller()));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+            }
+            if (filter.inStock() != null) {
+                predicates.add(filter.inStock()
+                        ? builder.greaterThan(root.get("stock"), 0)
+                        : builder.equal(root.get("stock"), 0));
+            }
+
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Spring Data expands a keyset position into {@code a > ? OR (a = ? AND id > ?)}, which the planner
+     * cannot turn into an index range. Repeating the leading sort key as a plain inclusive bound gives it one;
+     * the bound is implied by the OR, so the rows returned do not change.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Specification<Product> seekBound(final Sort sort, final KeysetScrollPosition position) {
+        final var leading = sort.iterator().next();
+        final var value = (Comparable) position.getKeys().get(leading.getProperty());
+        if (position.isInitial() || value == null) {
+            return (root, query, builder) -> null;
+        }
+
+        return (root, query, builder) -> leading.isAscending()
+                ? builder.greaterThanOrEqualTo(root.<Comparable>get(leading.getProperty()), value)
+                : builder.lessThanOrEqualTo(root.<Comparable>get(leading.getProperty()), value);
+    }
+}
@@ -1,9 +1,18 @@
 package com.hackerrank.sample.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hackerrank.sample.dto.CursorPaginatedResponse;
+import com.hackerrank.sample.dto.MultiGetResponse;
 import com.hackerrank.sample.dto.PaginatedResponse;
+import com.hackerrank.sample.dto.ProductFacets;
+import com.hackerrank.sample.dto.ProductFilter;
 import com.hackerrank.sample.dto.ProductRequest;
 import com.hackerrank.sample.dto.ProductResponse;
+import com.hackerrank.sample.dto.StockLevel;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
 
 public interface ProductService {
     /**
@@ -17,9 +26,43 @@ public interface ProductService {
     ProductResponse getProductById(final Long id);
 
     /**
-     * Updates an existing product's data.
+     * Retrieves many products and their images in one query, in request order, reporting the ids that
+     * do not exist instead of failing.
+     */
+    MultiGetResponse getProductsByIds(final List<Long> ids);
+
+    /**
+     * Retrieves a product together with its pre-rendered JSON and gzip bodies, cached until the product
+     * changes.
+     */
+    ProductPayload getProductPayload(final Long id);
+
+    /**
+     * Returns the current version of a product without loading it.
+     */
+    long getProductVersion(final Long id);
+
+    /**
+     * Updates an existing product's data. When {@code expectedVersion} is not null the update only
+     * succeeds if the product is still at that version.
+     */
+    ProductResponse updateProduct(final Long id, final ProductRequest request, final Long expectedVersion);
+
+    /**
+     * Applies a JSON merge patch to a product, writing only the fields that change. Honors
+     * {@code expectedVersion} like {@link #updateProduct}.
      */
-    ProductResponse updateProduct(final Long id, final ProductRequest request);
+    ProductResponse patchProduct(final Long id, final JsonNode patch, final Long expectedVersion);
+
+    /**
+     * Atomically takes {@code quantity} units from a product's stock, failing if fewer are available.
+     */
+    StockLevel reserveStock(final Long id, final int quantity);
+
+    /**
+     * Atomically returns {@code quantity} units to a product's stock.
+     */
+    StockLevel releaseStock(final Long id, final int quantity);
 
     /**
      * Removes a product from the system by ID.
@@ -27,12 +70,23 @@ public interface ProductService {
     void deleteProductById(final Long id);
 
     /**
-     * Returns a paginated list of products.
+     * Returns a paginated list of the products matching the filter.
      */
-    PaginatedResponse<ProductResponse> getAllProducts(final Pageable pageable);
+    PaginatedResponse<ProductResponse> getAllProducts(final ProductFilter filter, final Pageable pageable);
+
+    /**
+     * Returns the page of matching products that follows the given cursor, without counting the catalog.
+     */
+    CursorPaginatedResponse<ProductResponse> getProductsAfter(
+            final String cursor, final int size, final Sort sort, final ProductFilter filter);
 
     /**
      * Deletes all products in a single batch operation.
      */
     void deleteAllProducts();
+
+    /**
+     * Returns product counts per condition, seller and price range from the in-memory facet counters.
+     */
+    ProductFacets getProductFacets();
 }
\ No newline at end of file
@@ -1,23 +1,72 @@
 package com.hackerrank.sample.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hackerrank.sample.config.CacheConfig;
 import com.hackerrank.sample.dto.*;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.InsufficientStockException;
 import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.exception.PreconditionFailedException;
 import com.hackerrank.sample.model.Product;
 import com.hackerrank.sample.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
+@Timed
 public class ProductServiceImpl implements ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
     private final ProductRepository productRepository;
+    private final ProductFacetCounters facetCounters;
+    private final StockLedger stockLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int maxMultiGetIds;
 
-    public ProductServiceImpl(final ProductRepository productRepository) {
+    public ProductServiceImpl(
+            final ProductRepository productRepository,
+            final ProductFacetCounters facetCounters,
+            final StockLedger stockLedger,
+            final PlatformTransactionManager transactionManager,
+            final ObjectMapper objectMapper,
+            final Validator validator,
+            @Value("${products.mget.max-ids:100}") final int maxMultiGetIds) {
         this.productRepository = productRepository;
+        this.facetCounters = facetCounters;
+        this.stockLedger = stockLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxMultiGetIds = maxMultiGetIds;
     }
 
     @Override
@@ -27,6 +76,7 @@ public class ProductServiceImpl implements ProductService {
 
         var product = mapToEntity(request);
         var savedProduct = productRepository.save(product);
+        facetCounters.record(null, ProductFacetCounters.Key.of(savedProduct));
 
         log.info("Product created successfully with ID: {}", savedProduct.getId());
         return mapToResponse(savedProduct);
@@ -38,64 +88,192 @@ public class ProductServiceImpl implements ProductService {
         log.debug("Fetching product details for ID: {}", id);
 
         return productRepository.findById(id)
-                .map(this::mapToResponse)
+                .map(ProductServiceImpl::mapToResponse)
                 .orElseThrow(() -> {
                     log.warn("Lookup failed: Product ID {} not found", id);
                     return new NoSuchResourceFoundException("Product not found");
                 });
     }
 
+    /**
+     * Repeated ids are looked up once and reported once, at their first position; empty values are ignored.
+     */
     @Override
-    @Transactional
-    public ProductResponse updateProduct(final Long id, final ProductRequest request) {
-        log.info("Updating product ID: {} - New title: '{}'", id, request.title());
+    @Transactional(readOnly = true)
+    public MultiGetResponse getProductsByIds(final List<Long> ids) {
+        final var distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.size() > maxMultiGetIds) {
+            throw new BadResourceRequestException("Cannot fetch more than " + maxMultiGetIds + " products at once");
+        }
+        if (distinctIds.isEmpty()) {
+            return new MultiGetResponse(List.of(), List.of());
+        }
+        log.debug("Fetching {} products by ID", distinctIds.size());
 
-        var existingProduct = productRepository.findById(id)
+        final var found = new HashMap<Long, ProductResponse>();
+        for (final var product : productRepository.findByIdIn(distinctIds)) {
+            found.put(product.getId(), mapToResponse(product));
+        }
+
+        final var products = new ArrayList<ProductResponse>(found.size());
+        final var missingIds = new ArrayList<Long>();
+        for (final var id : distinctIds) {
+            final var product = found.get(id);
+            if (product == null) {
+                missingIds.add(id);
+            } else {
+                products.add(product);
+            }
+        }
+        return new MultiGetResponse(products, missingIds);
+    }
+
+    /**
+     * Serialized with the application's {@link ObjectMapper}, so the cached bytes are exactly what the
+     * JSON message converter would have written. Every write that evicts the product evicts these too. The
+     * default key is the id itself, the same key the evictions compute, without evaluating SpEL on each hit.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE)
+    @Transactional(readOnly = true)
+    public ProductPayload getProductPayload(final Long id) {
+        return ProductPayload.of(getProductById(id), objectMapper);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getProductVersion(final Long id) {
+        return productRepository.findVersionById(id)
                 .orElseThrow(() -> {
-                    log.error("Update failed: Product ID {} not found", id);
-                    return new NoSuchResourceFoundException("Cannot update: Product not found");
+                    log.warn("Version lookup failed: Product ID {} not found", id);
+                    return new NoSuchResourceFoundException("Product not found");
                 });
+    }
 
-        existingProduct.setTitle(request.title());
-        existingProduct.setDescription(request.description());
-        existingProduct.setPrice(request.price());
-        existingProduct.setStock(request.stock());
-        existingProduct.setCondition(request.condition());
-        existingProduct.setImageUrls(request.imageUrls());
-        existingProduct.setSellerName(request.sellerName());
-        existingProduct.setSellerRating(request.sellerRating());
-        existingProduct.setShippingCost(request.shippingCost());
-        existingProduct.setEstimatedDelivery(request.estimatedDelivery());
-
-        var updated = productRepository.save(existingProduct);
-        log.info("Product ID: {} updated successfully", id);
-        return mapToResponse(updated);
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional
+    public ProductResponse updateProduct(final Long id, final ProductRequest request, final Long expectedVersion) {
+        log.info("Updating product ID: {} - New title: '{}'", id, request.title());
+
+        final var existingProduct = findForUpdate(id, expectedVersion);
+        return applyChanges(existingProduct, request);
+    }
+
+    /**
+     * Merges the patch over the current state (RFC 7386: members replace, {@code null} removes, absent
+     * members are kept) and validates the result like a full update. Only the fields that end up different
+     * are assigned, so the flush writes just those columns.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional
+    public ProductResponse patchProduct(final Long id, final JsonNode patch, final Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadResourceRequestException("Merge patch must be a JSON object");
+        }
+        log.info("Patching product ID: {} - Fields: {}", id, patch.properties().stream().map(Map.Entry::getKey).toList());
+
+        final var existingProduct = findForUpdate(id, expectedVersion);
+        final ObjectNode merged = objectMapper.valueToTree(mapToRequest(existingProduct));
+        mergePatch(merged, patch);
+
+        final ProductRequest request;
+        try {
+            request = objectMapper.treeToValue(merged, ProductRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new BadResourceRequestException("Patch contains invalid field values");
+        }
+
+        final var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        return applyChanges(existingProduct, request);
+    }
+
+    /**
+     * Hot SKUs are served from the in-memory {@link StockLedger} without touching the database. Other
+     * products take one conditional UPDATE with no prior read; the remaining stock is read afterwards in
+     * the same transaction, while the UPDATE still holds the row lock, so it reflects exactly this
+     * reservation. The existence check only runs on the failure path to tell 404 from 409. The transaction
+     * is programmatic so the hot path never borrows a pooled connection.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public StockLevel reserveStock(final Long id, final int quantity) {
+        if (stockLedger.isHot(id)) {
+            return stockLedger.reserve(id, quantity);
+        }
+
+        return transactionTemplate.execute(status -> {
+            if (productRepository.reserveStock(id, quantity) == 0) {
+                if (!productRepository.existsById(id)) {
+                    throw new NoSuchResourceFoundException("Cannot reserve stock: Product not found");
+                }
+                log.info("Reservation of {} units rejected for product ID {}: insufficient stock", quantity, id);
+                throw new InsufficientStockException("Insufficient stock to reserve " + quantity + " units");
+            }
+            return currentStock(id);
+        });
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public StockLevel releaseStock(final Long id, final int quantity) {
+        if (stockLedger.isHot(id)) {
+            return stockLedger.release(id, quantity);
+        }
+
+        return transactionTemplate.execute(status -> {
+            if (productRepository.releaseStock(id, quantity) == 0) {
+                if (!productRepository.existsById(id)) {
+                    throw new NoSuchResourceFoundException("Cannot release stock: Product not found");
+                }
+                throw new BadResourceRequestException("Releasing " + quantity + " units would exceed the maximum stock");
+            }
+            return currentStock(id);
+        });
+    }
+
+    private StockLevel currentStock(final Long id) {
+        return new StockLevel(id, productRepository.findStockById(id).orElseThrow());
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     @Transactional
     public void deleteProductById(final Long id) {
         log.info("Attempting to delete product ID: {}", id);
 
-        if (!productRepository.existsById(id)) {
-            log.error("Deletion failed: Product ID {} does not exist", id);
-            throw new NoSuchResourceFoundException("Cannot delete: Product not found");
-        }
+        final var product = productRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Deletion failed: Product ID {} does not exist", id);
+                    return new NoSuchResourceFoundException("Cannot delete: Product not found");
+                });
 
-        productRepository.deleteById(id);
+        productRepository.delete(product);
+        facetCounters.record(ProductFacetCounters.Key.of(product), null);
+        stockLedger.forget(id);
         log.info("Product ID: {} deleted successfully", id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<ProductResponse> getAllProducts(final Pageable pageable) {
-        log.debug("Fetching paginated products. Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
+    public PaginatedResponse<ProductResponse> getAllProducts(final ProductFilter filter, final Pageable pageable) {
+        log.debug("Fetching paginated products. Page: {}, Size: {}, Filter: {}",
+                pageable.getPageNumber(), pageable.getPageSize(), filter);
 
-        var page = productRepository.findAll(pageable);
+        final var request = PageRequest.of(
+                pageable.getPageNumber(), pageable.getPageSize(), ProductQuery.validateSort(pageable.getSort()));
+        var page = productRepository.findAll(ProductQuery.toSpecification(filter), request);
         log.info("Retrieved {} products (Total: {})", page.getNumberOfElements(), page.getTotalElements());
 
         return new PaginatedResponse<>(
-                page.getContent().stream().map(this::mapToResponse).toList(),
+                page.getContent().stream().map(ProductServiceImpl::mapToResponse).toList(),
                 page.getTotalElements(),
                 page.getTotalPages(),
                 page.getNumber(),
@@ -104,12 +282,124 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPaginatedResponse<ProductResponse> getProductsAfter(
+            final String cursor, final int size, final Sort sort, final ProductFilter filter) {
+        log.debug("Fetching products by cursor. Size: {}, Sort: {}, Filter: {}", size, sort, filter);
+
+        final var keysetSort = ProductQuery.validateSort(sort);
+        final var position = ProductCursor.decode(cursor, keysetSort);
+        final var specification = ProductQuery.toSpecification(filter).and(ProductQuery.seekBound(keysetSort, position));
+        final Window<Product> window = productRepository.findBy(specification,
+                query -> query.sortBy(keysetSort).limit(size).scroll(position));
+        log.info("Retrieved {} products by cursor (hasNext: {})", window.size(), window.hasNext());
+
+        final var nextCursor = window.hasNext() && !window.isEmpty()
+                ? ProductCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+
+        return new CursorPaginatedResponse<>(
+                window.getContent().stream().map(ProductServiceImpl::mapToResponse).toList(),
+                nextCursor,
+                window.hasNext(),
+                size
+        );
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
     @Transactional
     public void deleteAllProducts() {
         productRepository.deleteAllInBatch();
+        facetCounters.clear();
+        stockLedger.forgetAll();
+    }
+
+    @Override
+    public ProductFacets getProductFacets() {
+        return facetCounters.snapshot();
+    }
+
+    /**
+     * The explicit check rejects stale clients up front; {@code @Version} still guards the window between
+     * this read and the flush against concurrent writers.
+     */
+    private Product findForUpdate(final Long id, final Long expectedVersion) {
+        final var existingProduct = productRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Update failed: Product ID {} not found", id);
+                    return new NoSuchResourceFoundException("Cannot update: Product not found");
+                });
+
+        if (expectedVersion != null && !expectedVersion.equals(existingProduct.getVersion())) {
+            log.warn("Update rejected: Product ID {} is at version {}, client expected {}",
+                    id, existingProduct.getVersion(), expectedVersion);
+            throw new PreconditionFailedException("Product has been modified since it was read");
+        }
+        return existingProduct;
+    }
+
+    /**
+     * Assigns only the values that differ. Scalar columns would be skipped by dirty checking anyway, but
+     * replacing the gallery always deletes and re-inserts every {@code product_images} row, so it is left
+     * untouched unless its contents change.
+     */
+    private ProductResponse applyChanges(final Product product, final ProductRequest request) {
+        if (stockLedger.isHot(product.getId()) && !Objects.equals(product.getStock(), request.stock())) {
+            throw new BadResourceRequestException("Stock of a hot product can only change through reserve and release");
+        }
+
+        final var previousFacets = ProductFacetCounters.Key.of(product);
+
+        setIfChanged(product.getTitle(), request.title(), product::setTitle);
+        setIfChanged(product.getDescription(), request.description(), product::setDescription);
+        setIfChanged(product.getStock(), request.stock(), product::setStock);
+        setIfChanged(product.getCondition(), request.condition(), product::setCondition);
+        setIfChanged(product.getSellerName(), request.sellerName(), product::setSellerName);
+        setIfChanged(product.getSellerRating(), request.sellerRating(), product::setSellerRating);
+        setIfChanged(product.getEstimatedDelivery(), request.estimatedDelivery(), product::setEstimatedDelivery);
+        if (!sameAmount(product.getPrice(), request.price())) {
+            product.setPrice(request.price());
+        }
+        if (!sameAmount(product.getShippingCost(), request.shippingCost())) {
+            product.setShippingCost(request.shippingCost());
+        }
+
+        final var images = request.imageUrls() == null ? List.<String>of() : request.imageUrls();
+        if (product.getImageUrls() == null || !List.copyOf(product.getImageUrls()).equals(images)) {
+            product.setImageUrls(new ArrayList<>(images));
+        }
+
+        // Flushed so the response carries the incremented version
+        final var updated = productRepository.saveAndFlush(product);
+        facetCounters.record(previousFacets, ProductFacetCounters.Key.of(updated));
+        log.info("Product ID: {} updated successfully", updated.getId());
+        return mapToResponse(updated);
+    }
+
+    private static <T> void setIfChanged(final T current, final T requested, final Consumer<T> setter) {
+        if (!Objects.equals(current, requested)) {
+            setter.accept(requested);
+        }
     }
 
-    private Product mapToEntity(final ProductRequest request) {
+    private static boolean sameAmount(final BigDecimal current, final BigDecimal requested) {
+        return current == null ? requested == null : requested != null && current.compareTo(requested) == 0;
+    }
+
+    private static void mergePatch(final ObjectNode target, final JsonNode patch) {
+        patch.properties().forEach(member -> {
+            if (member.getValue().isNull()) {
+                target.remove(member.getKey());
+            } else if (member.getValue().isObject() && target.get(member.getKey()) instanceof ObjectNode nested) {
+                mergePatch(nested, member.getValue());
+            } else {
+                target.set(member.getKey(), member.getValue());
+            }
+        });
+    }
+
+    static Product mapToEntity(final ProductRequest request) {
         return Product.builder()
                 .title(request.title())
                 .description(request.description())
@@ -124,7 +414,22 @@ public class ProductServiceImpl implements ProductService {
                 .build();
     }
 
-    private ProductResponse mapToResponse(final Product product) {
+    private static ProductRequest mapToRequest(final Product product) {
+        return new ProductRequest(
+                product.getTitle(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getStock(),
+                product.getCondition(),
+                product.getImageUrls() == null ? null : List.copyOf(product.getImageUrls()),
+                product.getSellerName(),
+                product.getSellerRating(),
+                product.getShippingCost(),
+                product.getEstimatedDelivery()
+        );
+    }
+
+    static ProductResponse mapToResponse(final Product product) {
         return new ProductResponse(
                 product.getId(),
                 product.getTitle(),
@@ -132,9 +437,10 @@ public class ProductServiceImpl implements ProductService {
                 product.getPrice(),
                 product.getStock(),
                 product.getCondition(),
-                product.getImageUrls(),
+                product.getImageUrls() == null ? List.of() : List.copyOf(product.getImageUrls()),
                 new ProductResponse.SellerInfo(product.getSellerName(), product.getSellerRating()),
-                new ProductResponse.ShippingInfo(product.getShippingCost(), product.getEstimatedDelivery())
+                new ProductResponse.ShippingInfo(product.getShippingCost(), product.getEstimatedDelivery()),
+                product.getVersion()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,323 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.config.CacheConfig;
+import com.hackerrank.sample.config.StockLedgerProperties;
+import com.hackerrank.sample.dto.StockLevel;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.InsufficientStockException;
+import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.repository.ProductBatchRepository;
+import com.hackerrank.sample.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory stock for the products configured as hot SKUs. Each product's available units are split over
+ * {@code stripes} counters updated with CAS, so concurrent buyers rarely touch the same cache line and never
+ * wait on the database row. No counter is ever taken below zero, so the total cannot go negative either.
+ * Net changes are written back in one JDBC batch every {@code flushInterval}, or as soon as a product has
+ * {@code crashLossWindow} units pending; those pending units are what a crash can lose.
+ *
+ * <p>The database copy lags by the pending delta, so while a product is hot its stock is owned by this
+ * ledger: absolute stock writes are refused and deleting the product drops its entry.
+ */
+@Component
+public class StockLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    /**
+     * Counters are spaced 8 longs (64 bytes) apart so neighbouring stripes do not share a cache line.
+     */
+    private static final int PADDING = 8;
+
+    private final ProductRepository productRepository;
+    private final ProductBatchRepository productBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockLedgerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TaskScheduler taskScheduler;
+    private final CacheManager cacheManager;
+    private final Map<Long, HotStock> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter flushes;
+    private final Counter flushFailures;
+
+    public StockLedger(
+            final ProductRepository productRepository,
+            final ProductBatchRepository productBatchRepository,
+            final PlatformTransactionManager transactionManager,
+            final StockLedgerProperties properties,
+            final TaskScheduler taskScheduler,
+            final CacheManager cacheManager,
+            final MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productBatchRepository = productBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.taskScheduler = taskScheduler;
+        this.cacheManager = cacheManager;
+        this.flushes = Counter.builder("products.stock.ledger.flushes")
+                .description("Batches of stock deltas written back to the database")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("products.stock.ledger.flush.failures")
+                .description("Write-backs that failed and were kept pending for the next flush")
+                .register(meterRegistry);
+
+        if (!properties.hotSkus().isEmpty()) {
+            log.info("Hot-SKU stock ledger enabled for products {}", properties.hotSkus());
+            taskScheduler.scheduleWithFixedDelay(this::flush, properties.flushInterval());
+        }
+    }
+
+    public boolean isHot(final Long id) {
+        return properties.hotSkus().contains(id);
+    }
+
+    /**
+     * Takes {@code quantity} units without any lock: first from a single stripe, then, if none holds enough,
+     * by gathering from several. A failed gather hands back what it took, so a reservation racing with it
+     * can be refused even though the units return a moment later.
+     */
+    public StockLevel reserve(final Long id, final int quantity) {
+        final var stock = entry(id);
+        final var start = ThreadLocalRandom.current().nextInt(properties.stripes());
+
+        if (!stock.takeFromOneStripe(start, quantity) && !stock.gather(start, quantity)) {
+            log.info("Reservation of {} units rejected for hot product ID {}: insufficient stock", quantity, id);
+            throw new InsufficientStockException("Insufficient stock to reserve " + quantity + " units");
+        }
+
+        stock.pending.addAndGet(slot(start), -quantity);
+        flushIfBeyondWindow(stock);
+        return new StockLevel(id, (int) stock.available());
+    }
+
+    /**
+     * Adds the units first and takes them back if the total no longer fits the {@code int} stock column, so
+     * two releases racing near the limit can both be refused but never overflow it.
+     */
+    public StockLevel release(final Long id, final int quantity) {
+        final var stock = entry(id);
+        final var stripe = ThreadLocalRandom.current().nextInt(properties.stripes());
+
+        stock.available.addAndGet(slot(stripe), quantity);
+        if (stock.available() > Integer.MAX_VALUE) {
+            stock.available.addAndGet(slot(stripe), -quantity);
+            throw new BadResourceRequestException("Releasing " + quantity + " units would exceed the maximum stock");
+        }
+        stock.pending.addAndGet(slot(stripe), quantity);
+        flushIfBeyondWindow(stock);
+        return new StockLevel(id, (int) stock.available());
+    }
+
+    /**
+     * Forgets a product, e.g. after it was deleted. Its pending delta is discarded with it.
+     */
+    public void forget(final Long id) {
+        final var removed = entries.remove(id);
+        if (removed != null && removed.gauge != null) {
+            meterRegistry.remove(removed.gauge);
+        }
+    }
+
+    public void forgetAll() {
+        List.copyOf(entries.keySet()).forEach(this::forget);
+    }
+
+    /**
+     * Writes every non-zero net delta in one transaction. Deltas are drained from the stripes with
+     * {@code getAndSet(0)}, so updates made while the batch runs stay pending for the next flush; on failure
+     * the drained deltas are added back, whether the batch or the transaction itself could not be run.
+     * Once the batch has committed, the flushed products are evicted from the product cache: reservations
+     * evict it when they are made, so a read before the flush would otherwise keep the old stock and version
+     * cached for the whole TTL.
+     */
+    @PreDestroy
+    public void flush() {
+        flushLock.lock();
+        try {
+            final var drained = new ArrayList<Map.Entry<Long, Long>>();
+            entries.forEach((id, stock) -> {
+                final var delta = stock.drainPending();
+                if (delta != 0) {
+                    drained.add(Map.entry(id, delta));
+                }
+            });
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            try {
+                final var updated = transactionTemplate.execute(status -> productBatchRepository.addStock(drained));
+                final var cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+                for (int i = 0; i < drained.size(); i++) {
+                    final var id = drained.get(i).getKey();
+                    if (updated[i] == 0) {
+                        forget(id);
+                    }
+                    if (cache != null) {
+                        cache.evict(id);
+                    }
+                }
+                flushes.increment();
+                log.debug("Flushed stock deltas for {} hot products", drained.size());
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                log.error("Stock ledger flush failed, keeping {} deltas pending: {}",
+                        drained.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                drained.forEach(delta -> {
+                    final var stock = entries.get(delta.getKey());
+                    if (stock != null) {
+                        stock.pending.addAndGet(0, delta.getValue());
+                    }
+                });
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Loaded outside any map lock, so the database read neither blocks other products hashed to the same
+     * bin nor pins a virtual thread's carrier. Concurrent first requests may each read the stock; whichever
+     * entry is registered first is kept.
+     */
+    private HotStock entry(final Long id) {
+        final var existing = entries.get(id);
+        if (existing != null) {
+            return existing;
+        }
+
+        final var stock = productRepository.findStockById(id)
+                .orElseThrow(() -> new NoSuchResourceFoundException("Product not found"));
+        final var created = new HotStock(stock);
+        final var registered = entries.putIfAbsent(id, created);
+        if (registered != null) {
+            return registered;
+        }
+
+        created.gauge = Gauge.builder("products.stock.ledger.pending", created, HotStock::pendingUnits)
+                .description("Net stock change held in memory and not yet written to the database")
+                .tag("product", String.valueOf(id))
+                .register(meterRegistry);
+        return created;
+    }
+
+    /**
+     * Hands the write-back to the scheduler rather than running it on the request thread. At most one such
+     * flush is queued at a time; it re-arms before draining so deltas arriving meanwhile can request another.
+     */
+    private void flushIfBeyondWindow(final HotStock stock) {
+        if (Math.abs(stock.pendingUnits()) >= properties.crashLossWindow() && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                flushRequested.set(false);
+                flush();
+            }, Instant.now());
+        }
+    }
+
+    private static int slot(final int stripe) {
+        return stripe * PADDING;
+    }
+
+    /**
+     * Striped available units and striped net delta not yet written back for one product.
+     */
+    private final class HotStock {
+
+        private final AtomicLongArray available;
+        private final AtomicLongArray pending;
+        private volatile Gauge gauge;
+
+        private HotStock(final int stock) {
+            final var stripes = properties.stripes();
+            this.available = new AtomicLongArray(stripes * PADDING);
+            this.pending = new AtomicLongArray(stripes * PADDING);
+            for (int i = 0; i < stripes; i++) {
+                available.set(slot(i), stock / stripes + (i < stock % stripes ? 1 : 0));
+            }
+        }
+
+        boolean takeFromOneStripe(final int start, final int quantity) {
+            final var stripes = properties.stripes();
+            for (int i = 0; i < stripes; i++) {
+                final var slot = slot((start + i) % stripes);
+                long current;
+                while ((current = available.get(slot)) >= quantity) {
+                    if (available.compareAndSet(slot, current, current - quantity)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        boolean gather(final int start, final int quantity) {
+            final var stripes = properties.stripes();
+            long taken = 0;
+            for (int i = 0; i < stripes && taken < quantity; i++) {
+                final var slot = slot((start + i) % stripes);
+                long current;
+                while ((current = available.get(slot)) > 0) {
+                    final var take = Math.min(current, quantity - taken);
+                    if (available.compareAndSet(slot, current, current - take)) {
+                        taken += take;
+                        break;
+                    }
+                }
+            }
+            if (taken == quantity) {
+                return true;
+            }
+            available.addAndGet(slot(start), taken);
+            return false;
+        }
+
+        long available() {
+            return sum(available);
+        }
+
+        long pendingUnits() {
+            return sum(pending);
+        }
+
+        long drainPending() {
+            long delta = 0;
+            for (int i = 0; i < properties.stripes(); i++) {
+                delta += pending.getAndSet(slot(i), 0);
+            }
+            return delta;
+        }
+
+        private long sum(final AtomicLongArray counters) {
+            long total = 0;
+            for (int i = 0; i < properties.stripes(); i++) {
+                total += counters.get(slot(i));
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.hackerrank.sample.storage;
+
+import com.hackerrank.sample.config.StorageProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Compressed snapshots of the file-backed database. {@code BACKUP TO} zips the database file while the
+ * application keeps serving, and a restore only unzips that file back: there is no SQL to replay, so restore
+ * time follows the size of the file rather than the number of rows.
+ */
+@Component
+@ConditionalOnProperty(name = "products.storage.snapshot-dir")
+public class DatabaseSnapshots {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSnapshots.class);
+
+    private static final String PREFIX = StorageProperties.DATABASE_NAME + "-";
+    private static final String SUFFIX = ".zip";
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageProperties properties;
+
+    public DatabaseSnapshots(final JdbcTemplate jdbcTemplate, final StorageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelayString = "${products.storage.snapshot-interval:PT1H}",
+            fixedDelayString = "${products.storage.snapshot-interval:PT1H}")
+    public void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | DataAccessException e) {
+            log.error("Database snapshot failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a new snapshot and prunes the oldest beyond {@code snapshotRetain}. The zip is written under a
+     * temporary name and moved into place, so a restore never picks up a partial snapshot.
+     */
+    public synchronized Path snapshot() throws IOException {
+        final var start = System.nanoTime();
+        final var snapshotDir = Files.createDirectories(properties.snapshotDir());
+        final var snapshot = snapshotDir.resolve(PREFIX + TIMESTAMP.format(Instant.now()) + SUFFIX);
+        final var partial = snapshot.resolveSibling(snapshot.getFileName() + ".partial");
+
+        jdbcTemplate.execute("BACKUP TO '" + partial.toAbsolutePath().toString().replace("'", "''") + "'");
+        Files.move(partial, snapshot, StandardCopyOption.ATOMIC_MOVE);
+
+        final var snapshots = list(snapshotDir);
+        for (final var old : snapshots.subList(0, Math.max(0, snapshots.size() - properties.snapshotRetain()))) {
+            Files.deleteIfExists(old);
+        }
+        log.info("Database snapshot {} written in {} ms ({} bytes)", snapshot.getFileName(),
+                (System.nanoTime() - start) / 1_000_000, Files.size(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Unzips {@code from}, or the newest snapshot in {@code from} if it is a directory, into {@code dataDir}.
+     *
+     * @return the snapshot that was restored
+     */
+    public static Path restore(final Path from, final Path dataDir) throws IOException {
+        final var snapshot = Files.isDirectory(from) ? newest(from) : from;
+        final var target = Files.createDirectories(dataDir).toAbsolutePath().normalize();
+
+        try (var zip = new ZipInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                final var file = target.resolve(entry.getName()).normalize();
+                if (!file.startsWith(target)) {
+                    throw new IOException("Snapshot entry outside the data directory: " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(file);
+                    continue;
+                }
+                Files.createDirectories(file.getParent());
+                Files.copy(zip, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return snapshot;
+    }
+
+    private static Path newest(final Path snapshotDir) throws IOException {
+        final var snapshots = list(snapshotDir);
+        if (snapshots.isEmpty()) {
+            throw new FileNotFoundException("No database snapshot in " + snapshotDir);
+        }
+        return snapshots.getLast();
+    }
+
+    /**
+     * Snapshots in {@code snapshotDir}, oldest first; the timestamped names sort chronologically.
+     */
+    private static List<Path> list(final Path snapshotDir) throws IOException {
+        try (var files = Files.list(snapshotDir)) {
+            return files
+                    .filter(file -> {
+                        final var name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
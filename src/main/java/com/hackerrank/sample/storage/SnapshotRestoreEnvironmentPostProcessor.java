@@ -0,0 +1,48 @@
+package com.hackerrank.sample.storage;
+
+import com.hackerrank.sample.config.StorageProperties;
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Restores the database from {@code products.storage.restore-from} when its file is missing. This runs
+ * before any bean exists, so the datasource, Flyway and Hibernate open the restored file as if it had always
+ * been there. An existing database is never overwritten, and a restore that fails stops the startup rather
+ * than letting Flyway create an empty catalog.
+ */
+public class SnapshotRestoreEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private final Log log;
+
+    public SnapshotRestoreEnvironmentPostProcessor(final DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(SnapshotRestoreEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(final ConfigurableEnvironment environment, final SpringApplication application) {
+        final var storage = Binder.get(environment).bindOrCreate("products.storage", StorageProperties.class);
+        if (storage.restoreFrom() == null) {
+            return;
+        }
+        if (Files.exists(storage.databaseFile())) {
+            log.info("Database " + storage.databaseFile() + " exists, not restoring from " + storage.restoreFrom());
+            return;
+        }
+
+        final var start = System.nanoTime();
+        try {
+            final var snapshot = DatabaseSnapshots.restore(storage.restoreFrom(), storage.dataDir());
+            log.info("Database restored from " + snapshot + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot restore the database from " + storage.restoreFrom(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+CREATE TABLE products
+(
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title              VARCHAR(100)   NOT NULL,
+    description        VARCHAR(2000),
+    price              NUMERIC(14, 2) NOT NULL,
+    stock              INTEGER        NOT NULL,
+    condition          VARCHAR(16)    NOT NULL CHECK (condition IN ('NEW', 'USED')),
+    seller_name        VARCHAR(255)   NOT NULL,
+    seller_rating      DOUBLE PRECISION,
+    shipping_cost      NUMERIC(38, 2) NOT NULL,
+    estimated_delivery VARCHAR(255)   NOT NULL,
+    version            BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE INDEX idx_products_price ON products (price);
+CREATE INDEX idx_products_condition_price ON products (condition, price);
+CREATE INDEX idx_products_seller_price ON products (seller_name, price);
+CREATE INDEX idx_products_stock ON products (stock);
+CREATE INDEX idx_products_title ON products (title);
+
+CREATE TABLE product_images
+(
+    product_id BIGINT NOT NULL,
+    image_url  VARCHAR(255),
+    CONSTRAINT fk_product_images_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
@@ -0,0 +1,7 @@
+INSERT INTO products (title, description, price, stock, condition, seller_name, seller_rating, shipping_cost,
+                      estimated_delivery)
+VALUES ('Laptop Pro', 'High performance laptop for devs', 1500.00, 10, 'NEW', 'Apple Store', 4.9, 0.00, 'Tomorrow');
+
+INSERT INTO products (title, description, price, stock, condition, seller_name, seller_rating, shipping_cost,
+                      estimated_delivery)
+VALUES ('Mechanical Keyboard', 'RGB Mechanical keyboard', 120.50, 25, 'NEW', 'LogiTech', 4.5, 15.00, '3-5 days');
\ No newline at end of file
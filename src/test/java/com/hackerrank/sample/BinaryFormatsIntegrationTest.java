@@ -0,0 +1,141 @@
+package com.hackerrank.sample;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.hackerrank.sample.config.BinaryFormatsConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class BinaryFormatsIntegrationTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final CBORMapper CBOR = new CBORMapper();
+    private static final SmileMapper SMILE = new SmileMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser
+    @DisplayName("BIN-01: A product created from CBOR reads back in CBOR with the same fields as JSON")
+    void createAndRead_Cbor() throws Exception {
+        final var request = CBOR.writeValueAsBytes(Map.of(
+                "title", "Binary Phone",
+                "price", 999.99,
+                "stock", 3,
+                "condition", "NEW",
+                "imageUrls", new String[]{"https://cdn.example.com/b.jpg"},
+                "sellerName", "Store",
+                "shippingCost", 0,
+                "estimatedDelivery", "Tomorrow"));
+
+        final var created = mockMvc.perform(post("/products")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        final var id = CBOR.readTree(created).get("id").asLong();
+
+        final var cbor = mockMvc.perform(get("/products/" + id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0-cbor\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        final var json = mockMvc.perform(get("/products/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertSameDocument(JSON.readTree(json), CBOR.readTree(cbor));
+        assertEquals("Binary Phone", CBOR.readTree(cbor).get("title").asText());
+    }
+
+    @Test
+    @DisplayName("BIN-02: Listings negotiate Smile by quality and carry the JSON schema")
+    void listProducts_Smile() throws Exception {
+        final var smile = mockMvc.perform(get("/products")
+                        .header("Accept", "application/json;q=0.5, " + BinaryFormatsConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatsConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        final var json = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertSameDocument(JSON.readTree(json), SMILE.readTree(smile));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("BIN-03: Binary requests are validated like JSON and rejected with a problem document")
+    void createProduct_InvalidCbor() throws Exception {
+        mockMvc.perform(post("/products")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(CBOR.writeValueAsBytes(Map.of("title", "", "price", -1))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Validation Error"));
+    }
+
+    @Test
+    @DisplayName("BIN-04: Each format has its own ETag, so a JSON ETag does not revalidate a CBOR request")
+    void getProduct_ETagPerFormat() throws Exception {
+        final var json = mockMvc.perform(get("/products/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        final var cbor = mockMvc.perform(get("/products/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        final var smile = mockMvc.perform(get("/products/1").accept(BinaryFormatsConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatsConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals(3, Set.of(json, cbor, smile).size());
+
+        mockMvc.perform(get("/products/1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", json))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", cbor))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/products/1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cbor))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/products/1").header("If-None-Match", cbor))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", json));
+    }
+
+    /**
+     * Binary formats carry {@code BigDecimal} as a decimal with its own scale, so numbers are compared by value.
+     */
+    private static void assertSameDocument(final JsonNode expected, final JsonNode actual) {
+        final Comparator<JsonNode> byValue = (a, b) -> a.isNumber() && b.isNumber()
+                ? a.decimalValue().compareTo(b.decimalValue())
+                : a.equals(b) ? 0 : 1;
+        assertTrue(expected.equals(byValue, actual), () -> expected + " != " + actual);
+    }
+}
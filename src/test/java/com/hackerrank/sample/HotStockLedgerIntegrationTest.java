@@ -0,0 +1,161 @@
+package com.hackerrank.sample;
+
+import com.hackerrank.sample.exception.InsufficientStockException;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.service.ProductService;
+import com.hackerrank.sample.service.StockLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Product 1 ("Laptop Pro" from data.sql) is configured as a hot SKU. The scheduled flush is pushed out of
+ * the way so each test decides when the ledger writes back.
+ */
+@SpringBootTest(properties = {
+        "products.stock.ledger.hot-skus=1",
+        "products.stock.ledger.flush-interval=1h",
+        "products.stock.ledger.crash-loss-window=1000000"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class HotStockLedgerIntegrationTest {
+
+    private static final Long HOT_ID = 1L;
+    private static final int INITIAL_STOCK = 250;
+    private static final int RESERVERS = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        final var product = productRepository.findById(HOT_ID).orElseThrow();
+        product.setStock(INITIAL_STOCK);
+        productRepository.save(product);
+    }
+
+    @Test
+    @DisplayName("HOT-01: 1000 parallel reservers never oversell and the database catches up on flush")
+    void reserveHotStock_NoOversell() throws Exception {
+        final var reserved = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final var results = new ArrayList<Future<?>>();
+
+        try (var executor = Executors.newFixedThreadPool(64)) {
+            for (int i = 0; i < RESERVERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        productService.reserveStock(HOT_ID, 1);
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException ignored) {
+                        // sold out
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var result : results) {
+                result.get();
+            }
+        }
+
+        assertEquals(INITIAL_STOCK, reserved.get());
+        assertEquals(INITIAL_STOCK, productRepository.findStockById(HOT_ID).orElseThrow());
+
+        stockLedger.flush();
+
+        assertEquals(0, productRepository.findStockById(HOT_ID).orElseThrow());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("HOT-02: Hot stock is served by the ledger and refuses absolute writes over HTTP")
+    void hotStock_OverHttp() throws Exception {
+        mockMvc.perform(post("/products/" + HOT_ID + "/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 200}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(50));
+
+        mockMvc.perform(post("/products/" + HOT_ID + "/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 51}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(put("/products/" + HOT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Laptop Pro", "price": 1500.00, "stock": 999, "condition": "NEW",
+                                 "sellerName": "Apple Store", "shippingCost": 0.00, "estimatedDelivery": "Tomorrow"}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        stockLedger.flush();
+
+        mockMvc.perform(get("/products/" + HOT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(50));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("HOT-03: A product read before the flush is served with its new stock and ETag after it")
+    void flush_RefreshesCachedProduct() throws Exception {
+        mockMvc.perform(post("/products/" + HOT_ID + "/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 10}"))
+                .andExpect(status().isOk());
+        final var beforeFlush = mockMvc.perform(get("/products/" + HOT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(INITIAL_STOCK))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        stockLedger.flush();
+
+        final var afterFlush = mockMvc.perform(get("/products/" + HOT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(INITIAL_STOCK - 10))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(beforeFlush, afterFlush);
+
+        mockMvc.perform(get("/products/" + HOT_ID).header(HttpHeaders.IF_NONE_MATCH, beforeFlush))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, afterFlush));
+        mockMvc.perform(get("/products/" + HOT_ID).header(HttpHeaders.IF_NONE_MATCH, afterFlush))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -56,6 +57,9 @@ public class HttpJsonDynamicUnitTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private MockMvc mockMvc;
     private final Map<String, String> httpJsonAndTestname = new HashMap<>();
     private final Map<String, Long> executionTime = new HashMap<>();
@@ -136,6 +140,8 @@ public class HttpJsonDynamicUnitTest {
         } catch (Exception e) {
             System.err.println("Note: ID reset skipped or handled by deleteAll: " + e.getMessage());
         }
+
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     private void processJsonLine(String filename, String jsonLine, AtomicInteger count) throws Exception {
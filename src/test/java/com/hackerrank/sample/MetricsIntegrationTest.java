@@ -0,0 +1,89 @@
+package com.hackerrank.sample;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("MET-01: Service calls are timed per method, cache hits included")
+    void serviceMethodsAreTimed() throws Exception {
+        mockMvc.perform(get("/products/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/products/1")).andExpect(status().isOk());
+
+        final var timer = meterRegistry.get("products.service")
+                .tag("class", "ProductServiceImpl")
+                .tag("method", "getProductPayload")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    @DisplayName("MET-02: Each request records its SQL statement and row counts")
+    void requestSqlIsCounted() throws Exception {
+        mockMvc.perform(get("/products")).andExpect(status().isOk());
+
+        final var statements = meterRegistry.get("http.server.requests.sql.statements")
+                .tag("uri", "/products")
+                .summary();
+        final var rows = meterRegistry.get("http.server.requests.sql.rows")
+                .tag("uri", "/products")
+                .summary();
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() > 0);
+        assertTrue(rows.totalAmount() > 0);
+    }
+
+    @Test
+    @DisplayName("MET-03: Rejected bearer tokens are timed and counted by reason")
+    void jwtFailuresAreCounted() throws Exception {
+        mockMvc.perform(delete("/products/1").header("Authorization", "Bearer invalid.token.here"))
+                .andExpect(status().isUnauthorized());
+
+        assertEquals(1, meterRegistry.get("jwt.verify").tag("outcome", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.verify.failures").counter().count());
+    }
+
+    @Test
+    @DisplayName("MET-04: Rate limiter decisions are counted per route and published for Prometheus")
+    void prometheusScrape() throws Exception {
+        mockMvc.perform(get("/products/1")).andExpect(status().isOk());
+
+        assertEquals(1, meterRegistry.get("ratelimit.requests")
+                .tag("route", "/products/{id}")
+                .tag("outcome", "allowed")
+                .counter().count());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("ratelimit_requests_total")))
+                .andExpect(content().string(containsString("products_service_seconds_bucket")));
+    }
+}
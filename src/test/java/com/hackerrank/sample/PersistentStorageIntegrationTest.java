@@ -0,0 +1,98 @@
+package com.hackerrank.sample;
+
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.storage.DatabaseSnapshots;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles({"test", "persistent"})
+@DirtiesContext
+class PersistentStorageIntegrationTest {
+
+    @TempDir
+    static Path storage;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseSnapshots snapshots;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @DynamicPropertySource
+    static void storageDirectories(final DynamicPropertyRegistry registry) {
+        registry.add("products.storage.data-dir", () -> storage.resolve("data").toString());
+        registry.add("products.storage.snapshot-dir", () -> storage.resolve("snapshots").toString());
+        registry.add("products.storage.snapshot-retain", () -> 2);
+    }
+
+    @Test
+    @DisplayName("PERSIST-01: Flyway creates the file database and seeds it once")
+    void startup_MigratesFileDatabase() {
+        assertTrue(Files.exists(storage.resolve("data").resolve("products.mv.db")));
+        assertEquals(List.of("1", "2"), jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\""
+                        + " WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                String.class));
+        assertTrue(productRepository.findAll().stream().anyMatch(product -> product.getTitle().equals("Laptop Pro")));
+    }
+
+    @Test
+    @DisplayName("PERSIST-02: The newest snapshot restores into an empty data directory")
+    void snapshot_RestoresIntoEmptyDirectory() throws Exception {
+        productRepository.save(Product.builder()
+                .title("Snapshotted SKU")
+                .price(new BigDecimal("10.00"))
+                .stock(7)
+                .condition(Condition.NEW)
+                .sellerName("Store")
+                .shippingCost(BigDecimal.ZERO)
+                .estimatedDelivery("Tomorrow")
+                .build());
+        snapshots.snapshot();
+        snapshots.snapshot();
+        final var newest = snapshots.snapshot();
+
+        try (var files = Files.list(storage.resolve("snapshots"))) {
+            assertEquals(2, files.count());
+        }
+
+        final var restoredDir = storage.resolve("restored");
+        assertEquals(newest, DatabaseSnapshots.restore(storage.resolve("snapshots"), restoredDir));
+
+        final var restored = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:file:" + restoredDir.resolve("products"), username, password));
+        assertEquals(7, restored.queryForObject(
+                "SELECT stock FROM products WHERE title = 'Snapshotted SKU'", Integer.class));
+        restored.execute("SHUTDOWN");
+    }
+}
@@ -0,0 +1,132 @@
+package com.hackerrank.sample;
+
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ProductCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Statistics statistics;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productId = productRepository.save(Product.builder()
+                .title("Cached Product")
+                .price(new BigDecimal("10.00"))
+                .stock(1)
+                .condition(Condition.NEW)
+                .sellerName("Store")
+                .shippingCost(BigDecimal.ZERO)
+                .estimatedDelivery("Tomorrow")
+                .imageUrls(List.of("https://cdn.example.com/p1.jpg"))
+                .build()).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("CACHE-01: Repeated reads are served from the cache without touching the database")
+    void getProductById_CacheHit() throws Exception {
+        mockMvc.perform(get("/products/" + productId)).andExpect(status().isOk());
+        final var afterMiss = statistics.getPrepareStatementCount();
+
+        mockMvc.perform(get("/products/" + productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Cached Product"));
+
+        assertEquals(afterMiss, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("CACHE-02: Update evicts the cached entry so the next read sees the new data")
+    void updateProduct_EvictsEntry() throws Exception {
+        mockMvc.perform(get("/products/" + productId)).andExpect(status().isOk());
+
+        mockMvc.perform(put("/products/" + productId)
+                        .header("Authorization", "Bearer " + jwtService.generateToken("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "title": "Renamed Product",
+                                    "price": 12.0,
+                                    "stock": 3,
+                                    "condition": "NEW",
+                                    "imageUrls": [],
+                                    "sellerName": "Store",
+                                    "shippingCost": 0.0,
+                                    "estimatedDelivery": "Tomorrow"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/products/" + productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed Product"));
+    }
+
+    @Test
+    @DisplayName("CACHE-03: Delete evicts the cached entry")
+    void deleteProduct_EvictsEntry() throws Exception {
+        mockMvc.perform(get("/products/" + productId)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/products/" + productId)
+                        .header("Authorization", "Bearer " + jwtService.generateToken("admin")))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/products/" + productId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("CACHE-04: Hit and miss counters are published through Actuator")
+    void cacheMetrics_Exposed() throws Exception {
+        mockMvc.perform(get("/products/" + productId)).andExpect(status().isOk());
+        mockMvc.perform(get("/products/" + productId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:products")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(1.0));
+    }
+}
@@ -0,0 +1,115 @@
+package com.hackerrank.sample;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ProductETagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productId = productRepository.save(Product.builder()
+                .title("Versioned Product")
+                .price(new BigDecimal("10.00"))
+                .stock(1)
+                .condition(Condition.NEW)
+                .sellerName("Store")
+                .shippingCost(BigDecimal.ZERO)
+                .estimatedDelivery("Tomorrow")
+                .imageUrls(List.of("https://cdn.example.com/p1.jpg"))
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("ETAG-01: A matching If-None-Match is answered with 304 from the version column alone")
+    void getProductById_NotModified() throws Exception {
+        final var eTag = mockMvc.perform(get("/products/" + productId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/products/" + productId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("ETAG-02: Updates bump the ETag and reject writers holding a stale one")
+    void updateProduct_IfMatch() throws Exception {
+        final var token = "Bearer " + jwtService.generateToken("admin");
+        final var body = objectMapper.writeValueAsString(new ProductRequest(
+                "Renamed", null, new BigDecimal("12.00"), 1, Condition.NEW, List.of(),
+                "Store", null, BigDecimal.ZERO, "Tomorrow"));
+
+        mockMvc.perform(put("/products/" + productId)
+                        .header("Authorization", token)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(put("/products/" + productId)
+                        .header("Authorization", token)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/products/" + productId).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.title").value("Renamed"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.hackerrank.sample;
+
+import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.exception.PreconditionFailedException;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.service.ProductFacetCounters;
+import com.hackerrank.sample.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ProductFacetsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductFacetCounters facetCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        facetCounters.reconcile();
+    }
+
+    @Test
+    @DisplayName("FACET-INT-01: Committed writes are reflected in the facets; rejected ones are not")
+    void facets_FollowCommittedWrites() throws Exception {
+        final var phone = productService.createProduct(request("Phone", "999.00", Condition.NEW, "Store A"));
+        final var cable = productService.createProduct(request("Cable", "5.00", Condition.NEW, "Store A"));
+        productService.createProduct(request("Lamp", "30.00", Condition.USED, "Store B"));
+
+        productService.updateProduct(cable.id(), request("Cable", "15.00", Condition.USED, "Store B"), null);
+        productService.deleteProductById(phone.id());
+        assertThrows(PreconditionFailedException.class, () -> productService.updateProduct(
+                cable.id(), request("Cable", "2000.00", Condition.NEW, "Store C"), 99L));
+
+        mockMvc.perform(get("/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conditions.USED").value(2))
+                .andExpect(jsonPath("$.conditions.NEW").doesNotExist())
+                .andExpect(jsonPath("$.sellers['Store B']").value(2))
+                .andExpect(jsonPath("$.sellers['Store A']").doesNotExist())
+                .andExpect(jsonPath("$.sellers['Store C']").doesNotExist())
+                .andExpect(jsonPath("$.priceRanges['10-50']").value(2))
+                .andExpect(jsonPath("$.priceRanges.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("FACET-INT-02: Reconciliation picks up rows written outside the services")
+    void reconcile_CorrectsExternalWrites() throws Exception {
+        productService.createProduct(request("Phone", "999.00", Condition.NEW, "Store A"));
+        jdbcTemplate.update("""
+                INSERT INTO products (title, price, stock, condition, seller_name, shipping_cost, estimated_delivery)
+                VALUES ('Imported', 1500.00, 1, 'USED', 'Store A', 0, 'Tomorrow')
+                """);
+
+        mockMvc.perform(get("/products/facets"))
+                .andExpect(jsonPath("$.sellers['Store A']").value(1));
+
+        facetCounters.reconcile();
+
+        mockMvc.perform(get("/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sellers['Store A']").value(2))
+                .andExpect(jsonPath("$.conditions.USED").value(1))
+                .andExpect(jsonPath("$.priceRanges['500-1000']").value(1))
+                .andExpect(jsonPath("$.priceRanges['1000-*']").value(1))
+                .andExpect(jsonPath("$.reconciledAt").isNotEmpty());
+    }
+
+    private ProductRequest request(final String title, final String price, final Condition condition,
+                                   final String seller) {
+        return new ProductRequest(title, null, new BigDecimal(price), 1, condition,
+                new ArrayList<>(List.of("https://cdn.example.com/" + title + ".jpg")), seller, 4.0, BigDecimal.ZERO, "Tomorrow");
+    }
+}
@@ -0,0 +1,169 @@
+package com.hackerrank.sample;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.hackerrank.sample.ProductFilterIntegrationTest$CapturedSql")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ProductFilterIntegrationTest {
+
+    private static final int ROWS = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Product X costs X (1..1000), is NEW when X is even, belongs to "Seller X % 10" and is sold out when X % 5 == 0.
+     */
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM product_images");
+        jdbcTemplate.execute("DELETE FROM products");
+        jdbcTemplate.execute("""
+                INSERT INTO products (title, price, stock, condition, seller_name, shipping_cost, estimated_delivery)
+                SELECT 'Product ' || X, X, MOD(X, 5), CASEWHEN(MOD(X, 2) = 0, 'NEW', 'USED'), 'Seller ' || MOD(X, 10),
+                       0, 'Tomorrow'
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(ROWS));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("FLT-01: Condition, price range and stock filters are combined and sorted by price")
+    void getAllProducts_CombinedFilters() throws Exception {
+        mockMvc.perform(get("/products")
+                        .param("condition", "NEW")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "120")
+                        .param("inStock", "true")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(8))
+                .andExpect(jsonPath("$.content[0].price").value(118))
+                .andExpect(jsonPath("$.content[7].price").value(102));
+    }
+
+    @Test
+    @DisplayName("FLT-02: Cursor pages only walk the products of the requested seller")
+    void getProductsAfter_SellerFilter() throws Exception {
+        final var prices = new ArrayList<BigDecimal>();
+        String cursor = "";
+        do {
+            final var body = mockMvc.perform(get("/products")
+                            .param("after", cursor)
+                            .param("seller", "Seller 3")
+                            .param("sort", "price,asc")
+                            .param("size", "40"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            final var page = objectMapper.readTree(body);
+            page.get("content").forEach(product -> {
+                assertEquals("Seller 3", product.get("seller").get("name").asText());
+                prices.add(product.get("price").decimalValue());
+            });
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(ROWS / 10, prices.size());
+        assertEquals(new BigDecimal("3"), prices.get(0).stripTrailingZeros());
+        assertEquals(new BigDecimal("993"), prices.get(prices.size() - 1).stripTrailingZeros());
+    }
+
+    @Test
+    @DisplayName("FLT-03: Sorting outside the indexed allowlist is rejected")
+    void getAllProducts_UnindexedSort() throws Exception {
+        mockMvc.perform(get("/products").param("sort", "sellerRating,asc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Sorting field 'sellerRating' is not supported"));
+    }
+
+    @Test
+    @DisplayName("FLT-04: Every filter shape is planned on its composite index")
+    void filterPredicates_UseIndexes() throws Exception {
+        assertPlanUses("IDX_PRODUCTS_CONDITION_PRICE", get("/products")
+                .param("condition", "NEW").param("minPrice", "100").param("maxPrice", "200").param("sort", "price,asc"));
+        assertPlanUses("IDX_PRODUCTS_SELLER_PRICE", get("/products")
+                .param("seller", "Seller 3").param("minPrice", "100").param("sort", "price,asc"));
+        assertPlanUses("IDX_PRODUCTS_PRICE", get("/products")
+                .param("minPrice", "100").param("maxPrice", "110").param("sort", "price,asc"));
+        assertPlanUses("IDX_PRODUCTS_STOCK", get("/products")
+                .param("inStock", "false").param("sort", "stock,asc"));
+
+        final var firstPage = mockMvc.perform(get("/products").param("after", "").param("sort", "title,asc"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertPlanUses("IDX_PRODUCTS_TITLE", get("/products")
+                .param("after", objectMapper.readTree(firstPage).get("nextCursor").asText())
+                .param("sort", "title,asc"));
+    }
+
+    /**
+     * Runs the request, then asks H2 for the plan of the listing query Hibernate actually sent. Parameters
+     * are bound to NULL: H2 picks the index when the statement is prepared, not from the bound values.
+     */
+    private void assertPlanUses(final String index, final MockHttpServletRequestBuilder request) throws Exception {
+        CapturedSql.STATEMENTS.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        final var listing = CapturedSql.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from products ") && sql.contains(" order by "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No listing query among " + CapturedSql.STATEMENTS));
+        final var parameters = new Object[(int) listing.chars().filter(c -> c == '?').count()];
+
+        final var plan = jdbcTemplate.query("EXPLAIN " + listing,
+                statement -> {
+                    for (int i = 0; i < parameters.length; i++) {
+                        statement.setObject(i + 1, null);
+                    }
+                },
+                (row, rowNum) -> row.getString(1)).getFirst();
+        assertTrue(plan.toUpperCase().contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    /**
+     * Records the SQL Hibernate generates, so FLT-04 explains real statements rather than hand-written ones.
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(final String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.hackerrank.sample;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "products.batch.chunk-size=100")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ProductImportIntegrationTest {
+
+    private static final int ROWS = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("IMPORT-01: NDJSON upload is stored in chunks with progress after each one")
+    void importProducts_Ndjson() throws Exception {
+        final var upload = IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> i == 7
+                        ? "{\"title\":\"\"}"
+                        : "{\"title\":\"Product " + i + "\",\"price\":10.5,\"stock\":1,\"condition\":\"NEW\","
+                        + "\"imageUrls\":[\"https://cdn.example.com/" + i + ".jpg\"],\"sellerName\":\"Store\","
+                        + "\"shippingCost\":0,\"estimatedDelivery\":\"Tomorrow\"}")
+                .collect(Collectors.joining("\n"));
+
+        final var report = mockMvc.perform(post("/products/import")
+                        .header("Authorization", "Bearer " + jwtService.generateToken("admin"))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(upload))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().lines()
+                .map(this::readTree)
+                .toList();
+
+        final var summary = report.get(report.size() - 1);
+        assertAll(
+                () -> assertEquals(7, report.get(0).get("index").asLong()),
+                () -> assertEquals("INVALID", report.get(0).get("status").asText()),
+                () -> assertEquals(100, report.get(1).get("created").asLong()),
+                () -> assertEquals(200, report.get(2).get("created").asLong()),
+                () -> assertEquals(ROWS - 1, summary.get("created").asLong()),
+                () -> assertEquals(1, summary.get("rejected").asLong()),
+                () -> assertEquals(ROWS - 1, productRepository.count())
+        );
+    }
+
+    @Test
+    @DisplayName("IMPORT-02: CSV upload creates products with their image gallery")
+    void importProducts_Csv() throws Exception {
+        final var upload = """
+                title,description,price,stock,condition,imageUrls,sellerName,sellerRating,shippingCost,estimatedDelivery
+                Phone,Flagship,499.99,5,NEW,https://cdn.example.com/a.jpg|https://cdn.example.com/b.jpg,Store,4.5,0,Tomorrow
+                Tablet,,299.00,2,USED,,Store,,9.99,Next week
+                """;
+
+        mockMvc.perform(post("/products/import")
+                        .header("Authorization", "Bearer " + jwtService.generateToken("admin"))
+                        .contentType("text/csv")
+                        .content(upload))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"processed\":2,\"created\":2,\"rejected\":0,\"completed\":false}\n"
+                        + "{\"processed\":2,\"created\":2,\"rejected\":0,\"completed\":true}\n"));
+
+        final var phone = productRepository.findAll().stream()
+                .filter(product -> product.getTitle().equals("Phone"))
+                .findFirst()
+                .flatMap(product -> productRepository.findById(product.getId()))
+                .orElseThrow();
+        assertEquals(2, phone.getImageUrls().size());
+    }
+
+    private JsonNode readTree(final String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.hackerrank.sample;
+
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.hackerrank.sample.ProductPatchIntegrationTest$RecordingInspector"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@WithMockUser
+class ProductPatchIntegrationTest {
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productId = productRepository.save(Product.builder()
+                .title("Busy SKU")
+                .description("Sells fast")
+                .price(new BigDecimal("10.00"))
+                .stock(100)
+                .condition(Condition.NEW)
+                .sellerName("Store")
+                .shippingCost(BigDecimal.ZERO)
+                .estimatedDelivery("Tomorrow")
+                .imageUrls(List.of("https://cdn.example.com/a.jpg", "https://cdn.example.com/b.jpg"))
+                .build()).getId();
+
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("PATCH-01: Changing the stock writes only the stock and version columns")
+    void patchProduct_WritesChangedColumnsOnly() throws Exception {
+        mockMvc.perform(patch("/products/" + productId)
+                        .contentType(MERGE_PATCH)
+                        .header("If-Match", "\"0\"")
+                        .content("{\"stock\": 99}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.stock").value(99))
+                .andExpect(jsonPath("$.description").value("Sells fast"))
+                .andExpect(jsonPath("$.imageUrls.length()").value(2));
+
+        final var writes = RecordingInspector.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> !sql.startsWith("select"))
+                .toList();
+        assertEquals(1, writes.size(), () -> "Unexpected writes: " + writes);
+        assertTrue(writes.get(0).matches("update products set stock=\\?,version=\\? where id=\\? and version=\\?"),
+                writes.get(0));
+
+        final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertEquals(0, statistics.getCollectionRemoveCount());
+    }
+
+    @Test
+    @DisplayName("PATCH-02: The gallery is rewritten only when its contents change; null clears a field")
+    void patchProduct_RewritesGalleryWhenChanged() throws Exception {
+        mockMvc.perform(patch("/products/" + productId)
+                        .contentType(MERGE_PATCH)
+                        .content("""
+                                {"description": null,
+                                 "imageUrls": ["https://cdn.example.com/c.jpg"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.imageUrls[0]").value("https://cdn.example.com/c.jpg"))
+                .andExpect(jsonPath("$.title").value("Busy SKU"));
+
+        assertEquals(1, entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCollectionRecreateCount());
+    }
+
+    @Test
+    @DisplayName("PATCH-03: A patch that leaves the product invalid is rejected with the violated fields")
+    void patchProduct_InvalidResult() throws Exception {
+        mockMvc.perform(patch("/products/" + productId)
+                        .contentType(MERGE_PATCH)
+                        .content("{\"sellerName\": null, \"stock\": -5}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Validation Error"))
+                .andExpect(jsonPath("$.detail").value(
+                        "Validation failed: sellerName: Seller name is mandatory; stock: must be greater than or equal to 0"));
+
+        assertEquals(100, productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    /**
+     * Captures every SQL statement Hibernate prepares, to assert the exact shape of the UPDATE.
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(final String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
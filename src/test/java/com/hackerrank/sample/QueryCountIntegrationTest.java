@@ -0,0 +1,166 @@
+package com.hackerrank.sample;
+
+import com.hackerrank.sample.metrics.RequestQueryStats;
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class QueryCountIntegrationTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RequestQueryStats queryStats;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productRepository.saveAll(IntStream.range(0, PAGE_SIZE).mapToObj(this::productWithImages).toList());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("QC-01: Paginated listing loads every image gallery with a single batched query")
+    void getAllProducts_NoNPlusOne() throws Exception {
+        mockMvc.perform(get("/products").param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(PAGE_SIZE))
+                .andExpect(jsonPath("$.content[49].imageUrls.length()").value(2));
+
+        assertStatementBudget(3);
+    }
+
+    @Test
+    @DisplayName("QC-02: Cursor listing loads every image gallery with a single batched query")
+    void getProductsAfter_NoNPlusOne() throws Exception {
+        mockMvc.perform(get("/products").param("after", "").param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[49].imageUrls.length()").value(2));
+
+        assertStatementBudget(2);
+    }
+
+    @Test
+    @DisplayName("QC-03: Single product read joins its image gallery")
+    void getProductById_SingleQuery() throws Exception {
+        final var id = productRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        mockMvc.perform(get("/products/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imageUrls.length()").value(2));
+
+        assertStatementBudget(1);
+    }
+
+    @Test
+    @DisplayName("QC-04: Catalog export streams every product and its images without ORM loads")
+    void exportProducts_SingleQuery() throws Exception {
+        final var asyncResult = mockMvc.perform(get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final var body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        final var lines = body.lines().toList();
+        assertEquals(PAGE_SIZE, lines.size());
+        assertTrue(lines.get(0).contains("\"imageUrls\":[\"https://cdn.example.com/0-a.jpg\",\"https://cdn.example.com/0-b.jpg\"]"));
+        assertTrue(lines.get(1).startsWith("{\"id\":"));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    @DisplayName("QC-05: Per-request accounting keeps the paginated listing within its statement budget")
+    void getAllProducts_RequestBudget() throws Exception {
+        mockMvc.perform(get("/products").param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk());
+
+        final var stats = queryStats.route("GET", "/products");
+        assertEquals(1, stats.requests());
+        assertTrue(stats.maxStatements() <= 3,
+                "Expected at most 3 SQL statements but " + stats.maxStatements() + " were executed");
+        assertEquals(PAGE_SIZE, stats.meanEntityLoads());
+        assertEquals(1, stats.meanCollectionFetches());
+    }
+
+    @Test
+    @DisplayName("QC-06: /actuator/querystats lists the endpoints issuing the most SQL first")
+    void queryStatsEndpoint_WorstFirst() throws Exception {
+        final var id = productRepository.findAll().get(0).getId();
+        mockMvc.perform(get("/products").param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/products/" + id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/querystats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].route").value("GET /products"))
+                .andExpect(jsonPath("$[0].requests").value(1))
+                .andExpect(jsonPath("$[1].route").value("GET /products/{id}"))
+                .andExpect(jsonPath("$[1].maxStatements").value(1));
+    }
+
+    private void assertStatementBudget(final long budget) {
+        final var executed = statistics.getPrepareStatementCount();
+        assertTrue(executed <= budget,
+                "Expected at most " + budget + " SQL statements but " + executed + " were executed");
+    }
+
+    private Product productWithImages(final int index) {
+        return Product.builder()
+                .title("Product " + index)
+                .price(new BigDecimal("10.00"))
+                .stock(1)
+                .condition(Condition.NEW)
+                .sellerName("Store")
+                .shippingCost(BigDecimal.ZERO)
+                .estimatedDelivery("Tomorrow")
+                .imageUrls(List.of("https://cdn.example.com/" + index + "-a.jpg",
+                        "https://cdn.example.com/" + index + "-b.jpg"))
+                .build();
+    }
+}
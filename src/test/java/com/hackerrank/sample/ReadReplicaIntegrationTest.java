@@ -0,0 +1,105 @@
+package com.hackerrank.sample;
+
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against a second in-memory H2 database standing in for the replica. Before each test the primary is
+ * copied into it and every replica title is suffixed, so each read shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "products.datasource.read.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "products.datasource.read.replicas[0].username=sa",
+        "products.datasource.read.replicas[0].password=",
+        "products.datasource.read.read-your-writes-window=1m"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ReadReplicaIntegrationTest {
+
+    private static final String REPLICA_SUFFIX = " (replica)";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productId = productRepository.save(Product.builder()
+                .title("Replicated SKU")
+                .price(new BigDecimal("10.00"))
+                .stock(10)
+                .condition(Condition.NEW)
+                .sellerName("Store")
+                .shippingCost(BigDecimal.ZERO)
+                .estimatedDelivery("Tomorrow")
+                .build()).getId();
+
+        final var script = new JdbcTemplate(dataSource).queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class);
+        final var replica = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", ""));
+        replica.execute("DROP ALL OBJECTS");
+        script.stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+        replica.update("UPDATE products SET title = CONCAT(title, ?)", REPLICA_SUFFIX);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("REPLICA-01: Read-only service calls are served by the replica")
+    void readOnlyTransaction_ReadsReplica() {
+        final var response = productService.getProductsByIds(List.of(productId));
+
+        assertEquals("Replicated SKU" + REPLICA_SUFFIX, response.products().getFirst().title());
+    }
+
+    @Test
+    @DisplayName("REPLICA-02: A user who just wrote reads the primary; other callers keep reading the replica")
+    void readYourWrites_ReadsPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer", null, Collections.emptyList()));
+        productService.reserveStock(productId, 1);
+
+        final var own = productService.getProductsByIds(List.of(productId)).products().getFirst();
+        assertEquals("Replicated SKU", own.title());
+        assertEquals(9, own.stock());
+
+        SecurityContextHolder.clearContext();
+        final var other = productService.getProductsByIds(List.of(productId)).products().getFirst();
+        assertEquals("Replicated SKU" + REPLICA_SUFFIX, other.title());
+        assertEquals(10, other.stock());
+    }
+}
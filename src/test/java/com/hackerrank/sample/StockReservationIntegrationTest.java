@@ -0,0 +1,139 @@
+package com.hackerrank.sample;
+
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.InsufficientStockException;
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class StockReservationIntegrationTest {
+
+    private static final int INITIAL_STOCK = 250;
+    private static final int RESERVERS = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productId = productRepository.save(Product.builder()
+                .title("Flash Sale SKU")
+                .price(new BigDecimal("10.00"))
+                .stock(INITIAL_STOCK)
+                .condition(Condition.NEW)
+                .sellerName("Store")
+                .shippingCost(BigDecimal.ZERO)
+                .estimatedDelivery("Tomorrow")
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("STOCK-01: 1000 parallel reservers never oversell the product")
+    void reserveStock_NoOversell() throws Exception {
+        final var reserved = new AtomicInteger();
+        final var rejected = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final var results = new ArrayList<Future<?>>();
+
+        try (var executor = Executors.newFixedThreadPool(64)) {
+            for (int i = 0; i < RESERVERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        productService.reserveStock(productId, 1);
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var result : results) {
+                result.get();
+            }
+        }
+
+        final var product = productRepository.findById(productId).orElseThrow();
+        assertEquals(INITIAL_STOCK, reserved.get());
+        assertEquals(RESERVERS - INITIAL_STOCK, rejected.get());
+        assertEquals(0, product.getStock());
+        assertEquals(INITIAL_STOCK, product.getVersion());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("STOCK-02: Reserve and release report the remaining stock; oversized reservations get 409")
+    void reserveAndRelease_OverHttp() throws Exception {
+        mockMvc.perform(post("/products/" + productId + "/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 200}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(50));
+
+        mockMvc.perform(post("/products/" + productId + "/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 51}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Insufficient Stock"));
+
+        mockMvc.perform(post("/products/" + productId + "/stock/release")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 20}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(70));
+
+        mockMvc.perform(post("/products/999999/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("STOCK-03: A release that would overflow the stock column is rejected and changes nothing")
+    void releaseStock_Overflow() {
+        final var product = productRepository.findById(productId).orElseThrow();
+        product.setStock(Integer.MAX_VALUE - 10);
+        productRepository.save(product);
+
+        assertThrows(BadResourceRequestException.class, () -> productService.releaseStock(productId, 11));
+        assertEquals(Integer.MAX_VALUE, productService.releaseStock(productId, 10).stock());
+    }
+}
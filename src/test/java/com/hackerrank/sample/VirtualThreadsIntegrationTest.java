@@ -0,0 +1,62 @@
+package com.hackerrank.sample;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4"
+})
+@ActiveProfiles("test")
+class VirtualThreadsIntegrationTest {
+
+    private static final AtomicBoolean servedOnVirtualThread = new AtomicBoolean();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("VT-01: Requests are served on virtual threads when the mode is enabled")
+    void requestsRunOnVirtualThreads() {
+        final var response = restTemplate.getForEntity("/products", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(servedOnVirtualThread.get());
+    }
+
+    @Test
+    @DisplayName("VT-02: The connection pool bounds database concurrency")
+    void connectionPoolIsSized() throws Exception {
+        assertEquals(4, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+    }
+
+    @TestConfiguration
+    static class ThreadProbeConfig {
+
+        @Bean
+        Filter threadProbeFilter() {
+            return (request, response, chain) -> {
+                servedOnVirtualThread.set(Thread.currentThread().isVirtual());
+                chain.doFilter(request, response);
+            };
+        }
+    }
+}
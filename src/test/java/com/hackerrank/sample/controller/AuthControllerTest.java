@@ -2,7 +2,9 @@ package com.hackerrank.sample.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hackerrank.sample.dto.LoginRequest;
+import com.hackerrank.sample.metrics.RequestSqlMetricsFilter;
 import com.hackerrank.sample.security.JwtAuthenticationFilter;
+import com.hackerrank.sample.security.RateLimitingFilter;
 import com.hackerrank.sample.service.JwtService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,7 +23,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(value = AuthController.class, excludeFilters = @ComponentScan.Filter(
         type = FilterType.ASSIGNABLE_TYPE,
-        classes = JwtAuthenticationFilter.class))
+        classes = {JwtAuthenticationFilter.class, RateLimitingFilter.class, RequestSqlMetricsFilter.class}))
 @AutoConfigureMockMvc(addFilters = false)
 class AuthControllerTest {
 
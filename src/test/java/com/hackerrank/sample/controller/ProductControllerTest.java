@@ -1,11 +1,22 @@
 package com.hackerrank.sample.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.dto.BatchItemResult;
+import com.hackerrank.sample.dto.BatchResponse;
+import com.hackerrank.sample.dto.CursorPaginatedResponse;
+import com.hackerrank.sample.dto.MultiGetResponse;
 import com.hackerrank.sample.dto.PaginatedResponse;
+import com.hackerrank.sample.dto.ProductFacets;
+import com.hackerrank.sample.dto.ProductFilter;
 import com.hackerrank.sample.dto.ProductRequest;
 import com.hackerrank.sample.dto.ProductResponse;
+import com.hackerrank.sample.dto.StockLevel;
+import com.hackerrank.sample.metrics.RequestSqlMetricsFilter;
 import com.hackerrank.sample.model.Product.Condition;
 import com.hackerrank.sample.security.JwtAuthenticationFilter;
+import com.hackerrank.sample.security.RateLimitingFilter;
+import com.hackerrank.sample.service.ProductBulkService;
+import com.hackerrank.sample.service.ProductPayload;
 import com.hackerrank.sample.service.ProductService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,21 +27,28 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(value = ProductController.class, excludeFilters = @ComponentScan.Filter(
         type = FilterType.ASSIGNABLE_TYPE,
-        classes = JwtAuthenticationFilter.class))
+        classes = {JwtAuthenticationFilter.class, RateLimitingFilter.class, RequestSqlMetricsFilter.class}))
 @AutoConfigureMockMvc(addFilters = false)
 class ProductControllerTest {
 
@@ -43,6 +61,9 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductBulkService productBulkService;
+
     @Test
     @DisplayName("UNIT-PC-01: Create product returns 201 Created with nested info")
     void createProduct_Success() throws Exception {
@@ -66,7 +87,7 @@ class ProductControllerTest {
     void getProductById_Success() throws Exception {
         final var response = createFullResponse(10L, "Tablet");
 
-        when(productService.getProductById(10L)).thenReturn(response);
+        when(productService.getProductPayload(10L)).thenReturn(ProductPayload.of(response, objectMapper));
 
         mockMvc.perform(get("/products/10"))
                 .andExpect(status().isOk())
@@ -75,19 +96,147 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.shipping.estimatedDelivery").value("Tomorrow"));
     }
 
+    @Test
+    @DisplayName("UNIT-PC-18: Multi-get binds comma-separated ids and returns missing ids")
+    void getProductsByIds_Success() throws Exception {
+        when(productService.getProductsByIds(List.of(10L, 99L)))
+                .thenReturn(new MultiGetResponse(List.of(createFullResponse(10L, "Tablet")), List.of(99L)));
+
+        mockMvc.perform(get("/products").param("ids", "10,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].title").value("Tablet"))
+                .andExpect(jsonPath("$.missingIds[0]").value(99));
+    }
+
     @Test
     @DisplayName("UNIT-PC-03: Update product returns 200 OK")
     void updateProduct_Success() throws Exception {
         final var request = createFullRequest("Updated Phone");
         final var response = createFullResponse(1L, "Updated Phone");
 
-        when(productService.updateProduct(eq(1L), any(ProductRequest.class))).thenReturn(response);
+        when(productService.updateProduct(eq(1L), any(ProductRequest.class), isNull())).thenReturn(response);
 
         mockMvc.perform(put("/products/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("Updated Phone"));
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.title").value("Updated Phone"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-14: Merge patch is accepted with If-Match and returns the new ETag")
+    void patchProduct_Success() throws Exception {
+        when(productService.patchProduct(eq(1L), any(), eq(2L))).thenReturn(createFullResponse(1L, "Phone"));
+
+        mockMvc.perform(patch("/products/1")
+                        .contentType("application/merge-patch+json")
+                        .header("If-Match", "\"2\"")
+                        .content("{\"stock\": 7}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(productService).patchProduct(eq(1L), eq(objectMapper.readTree("{\"stock\": 7}")), eq(2L));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-15: Stock reservation returns the remaining units")
+    void reserveStock_Success() throws Exception {
+        when(productService.reserveStock(1L, 2)).thenReturn(new StockLevel(1L, 8));
+
+        mockMvc.perform(post("/products/1/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(1))
+                .andExpect(jsonPath("$.stock").value(8));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-16: Stock reservation requires a positive quantity")
+    void reserveStock_InvalidQuantity() throws Exception {
+        mockMvc.perform(post("/products/1/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Validation Error"));
+
+        verify(productService, never()).reserveStock(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-17: Get by ID writes the cached gzip body when the client accepts gzip")
+    void getProductById_Gzip() throws Exception {
+        final var payload = ProductPayload.of(createFullResponse(10L, "Tablet"), objectMapper);
+        when(productService.getProductPayload(10L)).thenReturn(payload);
+
+        mockMvc.perform(get("/products/10").header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andExpect(header().string("ETag", "\"3-gzip\""))
+                .andExpect(content().bytes(payload.gzip()));
+
+        mockMvc.perform(get("/products/10").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().bytes(payload.json()));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-20: The identity and gzip ETags only revalidate their own representation")
+    void getProductById_GzipETagPerRepresentation() throws Exception {
+        when(productService.getProductVersion(10L)).thenReturn(3L);
+        when(productService.getProductPayload(10L))
+                .thenReturn(ProductPayload.of(createFullResponse(10L, "Tablet"), objectMapper));
+
+        mockMvc.perform(get("/products/10").header("Accept-Encoding", "gzip").header("If-None-Match", "\"3-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-gzip\""));
+        mockMvc.perform(get("/products/10").header("Accept-Encoding", "gzip").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-gzip\""));
+        mockMvc.perform(get("/products/10").header("If-None-Match", "\"3-gzip\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-21: If-Match accepts the ETag of the gzip representation")
+    void updateProduct_IfMatchGzipETag() throws Exception {
+        when(productService.updateProduct(eq(1L), any(ProductRequest.class), eq(2L)))
+                .thenReturn(createFullResponse(1L, "Updated Phone"));
+
+        mockMvc.perform(put("/products/1")
+                        .header("If-Match", "\"2-gzip\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createFullRequest("Updated Phone"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(put("/products/1")
+                        .header("If-Match", "\"2-zip\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createFullRequest("Updated Phone"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-19: An explicit gzip quality overrides the wildcard, wherever q is listed")
+    void getProductById_GzipQualityValues() throws Exception {
+        final var payload = ProductPayload.of(createFullResponse(10L, "Tablet"), objectMapper);
+        when(productService.getProductPayload(10L)).thenReturn(payload);
+
+        mockMvc.perform(get("/products/10").header("Accept-Encoding", "*, gzip;q=0"))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+        mockMvc.perform(get("/products/10").header("Accept-Encoding", "gzip;level=9;q=0, *;q=1"))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+        mockMvc.perform(get("/products/10").header("Accept-Encoding", "br, *;q=0.5"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+        mockMvc.perform(get("/products/10").header("Accept-Encoding", "*;q=0, gzip;q=0.001"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
     }
 
     @Test
@@ -109,7 +258,7 @@ class ProductControllerTest {
                 1L, 1, 0, 10
         );
 
-        when(productService.getAllProducts(any(Pageable.class))).thenReturn(paginatedResponse);
+        when(productService.getAllProducts(any(ProductFilter.class), any(Pageable.class))).thenReturn(paginatedResponse);
 
         mockMvc.perform(get("/products")
                         .param("page", "0")
@@ -118,6 +267,134 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.content[0].seller.name").value("Apple Store"));
     }
 
+    @Test
+    @DisplayName("UNIT-PC-06: Cursor mode is selected by the 'after' parameter and skips page metadata")
+    void getProductsAfter_Success() throws Exception {
+        final var cursorResponse = new CursorPaginatedResponse<>(
+                List.of(createFullResponse(3L, "Product 3")), "eyJpZCI6M30", true, 1);
+
+        when(productService.getProductsAfter(eq("eyJpZCI6Mn0"), eq(1), any(Sort.class), any(ProductFilter.class)))
+                .thenReturn(cursorResponse);
+
+        mockMvc.perform(get("/products")
+                        .param("after", "eyJpZCI6Mn0")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(3L))
+                .andExpect(jsonPath("$.nextCursor").value("eyJpZCI6M30"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(productService, never()).getAllProducts(any(ProductFilter.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-12: Listing filters are bound from query parameters")
+    void getAllProducts_Filters() throws Exception {
+        when(productService.getAllProducts(any(ProductFilter.class), any(Pageable.class)))
+                .thenReturn(new PaginatedResponse<>(List.of(), 0L, 0, 0, 10));
+
+        mockMvc.perform(get("/products")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "500.50")
+                        .param("condition", "USED")
+                        .param("seller", "Apple Store")
+                        .param("inStock", "true"))
+                .andExpect(status().isOk());
+
+        verify(productService).getAllProducts(
+                eq(new ProductFilter(new BigDecimal("100"), new BigDecimal("500.50"), Condition.USED, "Apple Store", true)),
+                any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-13: Facets are served by the literal path, not as a product ID")
+    void getProductFacets_Success() throws Exception {
+        when(productService.getProductFacets()).thenReturn(new ProductFacets(
+                Map.of(Condition.NEW, 3L), Map.of("Apple Store", 3L), Map.of("1000-*", 3L),
+                Instant.parse("2026-01-21T15:00:00Z")));
+
+        mockMvc.perform(get("/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conditions.NEW").value(3))
+                .andExpect(jsonPath("$.sellers['Apple Store']").value(3))
+                .andExpect(jsonPath("$.priceRanges['1000-*']").value(3));
+
+        verify(productService, never()).getProductPayload(anyLong());
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-07: Bulk creation returns per-item results")
+    void createProducts_Success() throws Exception {
+        final var batchResponse = BatchResponse.of(List.of(
+                BatchItemResult.created(0, 1L),
+                BatchItemResult.invalid(1, "title: Title is mandatory")));
+
+        when(productBulkService.createProducts(anyList())).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                createFullRequest("Phone"), createFullRequest("")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(1L))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-08: Matching If-None-Match returns 304 without loading the product")
+    void getProductById_NotModified() throws Exception {
+        when(productService.getProductVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/products/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getProductPayload(anyLong());
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-09: Stale If-None-Match returns the product with its current ETag")
+    void getProductById_Modified() throws Exception {
+        when(productService.getProductVersion(1L)).thenReturn(3L);
+        when(productService.getProductPayload(1L))
+                .thenReturn(ProductPayload.of(createFullResponse(1L, "Phone"), objectMapper));
+
+        mockMvc.perform(get("/products/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.title").value("Phone"));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-10: If-Match is passed to the update as the expected version")
+    void updateProduct_IfMatch() throws Exception {
+        when(productService.updateProduct(eq(1L), any(ProductRequest.class), eq(2L)))
+                .thenReturn(createFullResponse(1L, "Updated Phone"));
+
+        mockMvc.perform(put("/products/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createFullRequest("Updated Phone"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("UNIT-PC-11: An If-Match that is not one of our ETags fails the precondition")
+    void updateProduct_InvalidIfMatch() throws Exception {
+        mockMvc.perform(put("/products/1")
+                        .header("If-Match", "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createFullRequest("Updated Phone"))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.title").value("Precondition Failed"));
+
+        verify(productService, never()).updateProduct(anyLong(), any(), any());
+    }
+
     private ProductRequest createFullRequest(final String title) {
         return new ProductRequest(
                 title, "Description", new BigDecimal("499.99"), 5, Condition.NEW, List.of(),
@@ -129,7 +406,8 @@ class ProductControllerTest {
         return new ProductResponse(
                 id, title, "Description", new BigDecimal("499.99"), 5, Condition.NEW, List.of(),
                 new ProductResponse.SellerInfo("Apple Store", 4.8),
-                new ProductResponse.ShippingInfo(BigDecimal.ZERO, "Tomorrow")
+                new ProductResponse.ShippingInfo(BigDecimal.ZERO, "Tomorrow"),
+                3L
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.hackerrank.sample.datasource;
+
+import com.hackerrank.sample.config.ReadReplicaProperties;
+import com.hackerrank.sample.config.ReadReplicaProperties.Replica;
+import com.hackerrank.sample.config.ReadReplicaProperties.Selection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_A_URL = "jdbc:h2:mem:routing-replica-a;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_B_URL = "jdbc:h2:mem:routing-replica-b;DB_CLOSE_DELAY=-1";
+    private static final String UNREACHABLE_URL = "jdbc:h2:tcp://localhost:1/unreachable";
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and everything else to the primary")
+    void getConnection_RoutesByReadOnlyFlag() throws Exception {
+        dataSource = routing(Selection.ROUND_ROBIN, Duration.ZERO, REPLICA_A_URL);
+
+        assertEquals(withoutSettings(REPLICA_A_URL), urlInTransaction(true));
+        assertEquals(withoutSettings(PRIMARY_URL), urlInTransaction(false));
+        assertEquals(withoutSettings(PRIMARY_URL), urlOutsideTransaction());
+    }
+
+    @Test
+    @DisplayName("Should rotate read-only transactions across replicas")
+    void getConnection_RoundRobin() throws Exception {
+        dataSource = routing(Selection.ROUND_ROBIN, Duration.ZERO, REPLICA_A_URL, REPLICA_B_URL);
+
+        final var urls = List.of(urlInTransaction(true), urlInTransaction(true), urlInTransaction(true));
+
+        assertEquals(Set.of(withoutSettings(REPLICA_A_URL), withoutSettings(REPLICA_B_URL)), Set.copyOf(urls));
+        assertEquals(urls.get(0), urls.get(2));
+    }
+
+    @Test
+    @DisplayName("Should read from the primary when the replica is down, then skip the replica")
+    void getConnection_FallsBackToPrimary() throws Exception {
+        dataSource = routing(Selection.ROUND_ROBIN, Duration.ZERO, UNREACHABLE_URL, REPLICA_A_URL);
+
+        assertEquals(withoutSettings(PRIMARY_URL), urlInTransaction(true));
+        assertEquals(withoutSettings(REPLICA_A_URL), urlInTransaction(true));
+        assertEquals(withoutSettings(REPLICA_A_URL), urlInTransaction(true));
+    }
+
+    @Test
+    @DisplayName("Should keep a user who just wrote on the primary for the read-your-writes window")
+    void getConnection_ReadYourWrites() throws Exception {
+        dataSource = routing(Selection.LEAST_LOADED, Duration.ofMinutes(1), REPLICA_A_URL);
+
+        authenticate("writer");
+        urlInTransaction(false);
+        assertEquals(withoutSettings(PRIMARY_URL), urlInTransaction(true));
+
+        authenticate("reader");
+        assertEquals(withoutSettings(REPLICA_A_URL), urlInTransaction(true));
+    }
+
+    @Test
+    @DisplayName("Should keep read-only transactions on the primary until replicas are enabled")
+    void getConnection_PrimaryUntilEnabled() throws Exception {
+        dataSource = routing(Selection.ROUND_ROBIN, Duration.ZERO, REPLICA_A_URL);
+        dataSource.setReplicasEnabled(false);
+
+        assertEquals(withoutSettings(PRIMARY_URL), urlInTransaction(true));
+
+        dataSource.setReplicasEnabled(true);
+        assertEquals(withoutSettings(REPLICA_A_URL), urlInTransaction(true));
+    }
+
+    private ReadWriteRoutingDataSource routing(
+            final Selection selection, final Duration readYourWritesWindow, final String... replicaUrls) {
+        final var replicas = Arrays.stream(replicaUrls)
+                .map(url -> new Replica(url, "sa", "", 2, Duration.ofMillis(250)))
+                .toList();
+        final var routing = new ReadWriteRoutingDataSource(
+                new DriverManagerDataSource(PRIMARY_URL, "sa", ""),
+                new ReadReplicaProperties(replicas, selection, readYourWritesWindow, Duration.ofMinutes(1)));
+        routing.setReplicasEnabled(true);
+        return routing;
+    }
+
+    private String urlInTransaction(final boolean readOnly) throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            return urlOutsideTransaction();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    /**
+     * The database URL without its settings, which H2 leaves out of the metadata URL.
+     */
+    private String urlOutsideTransaction() throws SQLException {
+        try (var connection = dataSource.getConnection()) {
+            return withoutSettings(connection.getMetaData().getURL());
+        }
+    }
+
+    private static String withoutSettings(final String url) {
+        return url.split(";", 2)[0];
+    }
+
+    private static void authenticate(final String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList()));
+    }
+}
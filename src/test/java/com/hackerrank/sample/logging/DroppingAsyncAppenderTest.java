@@ -0,0 +1,165 @@
+package com.hackerrank.sample.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DroppingAsyncAppenderTest {
+
+    private LoggerContext context;
+    private GatedAppender delegate;
+    private DroppingAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        delegate = new GatedAppender();
+        delegate.setContext(context);
+        delegate.start();
+
+        appender = new DroppingAsyncAppender();
+        appender.setContext(context);
+        appender.setName("async");
+        appender.setQueueSize(2);
+        appender.addAppender(delegate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        delegate.gate.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Should write every event in order and flush the queue on stop")
+    void append_DeliversInOrder() {
+        delegate.gate.countDown();
+        appender.setQueueSize(100);
+        appender.start();
+
+        for (int i = 0; i < 50; i++) {
+            appender.doAppend(event(Level.INFO, "event-" + i));
+        }
+        appender.stop();
+
+        assertEquals(50, delegate.messages.size());
+        assertEquals("event-0", delegate.messages.get(0));
+        assertEquals("event-49", delegate.messages.get(49));
+        assertEquals(0, appender.getDroppedCount(Level.INFO));
+        assertFalse(delegate.isStarted());
+    }
+
+    @Test
+    @DisplayName("DROP_NEWEST should drop the incoming event when the queue is full")
+    void append_DropNewest() throws Exception {
+        appender.setDropPolicy(DroppingAsyncAppender.DropPolicy.DROP_NEWEST);
+        fillQueue();
+
+        appender.doAppend(event(Level.ERROR, "incoming"));
+        delegate.gate.countDown();
+        appender.stop();
+
+        assertEquals(List.of("in-flight", "queued-1", "queued-2"), delegate.messages);
+        assertEquals(1, appender.getDroppedCount(Level.ERROR));
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST should evict the oldest queued event for the incoming one")
+    void append_DropOldest() throws Exception {
+        appender.setDropPolicy(DroppingAsyncAppender.DropPolicy.DROP_OLDEST);
+        fillQueue();
+
+        appender.doAppend(event(Level.INFO, "incoming"));
+        delegate.gate.countDown();
+        appender.stop();
+
+        assertEquals(List.of("in-flight", "queued-2", "incoming"), delegate.messages);
+        assertEquals(1, appender.getDroppedCount(Level.INFO));
+    }
+
+    @Test
+    @DisplayName("KEEP_WARNINGS should drop INFO but make room for WARN when the queue is full")
+    void append_KeepWarnings() throws Exception {
+        appender.setDropPolicy(DroppingAsyncAppender.DropPolicy.KEEP_WARNINGS);
+        fillQueue();
+
+        appender.doAppend(event(Level.INFO, "dropped-info"));
+        appender.doAppend(event(Level.WARN, "kept-warning"));
+        delegate.gate.countDown();
+        appender.stop();
+
+        assertEquals(List.of("in-flight", "queued-2", "kept-warning"), delegate.messages);
+        assertEquals(2, appender.getDroppedCount(Level.INFO));
+        assertEquals(0, appender.getDroppedCount(Level.WARN));
+    }
+
+    @Test
+    @DisplayName("Should not start without an attached appender")
+    void start_RequiresAppender() {
+        final var detached = new DroppingAsyncAppender();
+        detached.setContext(context);
+        detached.setName("detached");
+
+        detached.start();
+
+        assertFalse(detached.isStarted());
+    }
+
+    /**
+     * Blocks the worker on a first event, then fills both queue slots behind it.
+     */
+    private void fillQueue() throws InterruptedException {
+        appender.start();
+        appender.doAppend(event(Level.INFO, "in-flight"));
+        assertTrue(delegate.entered.await(5, TimeUnit.SECONDS));
+        appender.doAppend(event(Level.INFO, "queued-1"));
+        appender.doAppend(event(Level.INFO, "queued-2"));
+        assertEquals(2, appender.getQueueDepth());
+    }
+
+    private LoggingEvent event(final Level level, final String message) {
+        final var event = new LoggingEvent();
+        event.setLoggerContext(context);
+        event.setLoggerName("test");
+        event.setLevel(level);
+        event.setMessage(message);
+        event.setThreadName(Thread.currentThread().getName());
+        event.setTimeStamp(System.currentTimeMillis());
+        event.setMDCPropertyMap(Map.of());
+        return event;
+    }
+
+    private static final class GatedAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(final ILoggingEvent event) {
+            entered.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getFormattedMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.hackerrank.sample.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlCountingDataSourceTest {
+
+    @Test
+    @DisplayName("Should close the wrapped pool when the wrapper is closed")
+    void close_ClosesPool() throws Exception {
+        final var pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:sql-counting-close");
+        final var dataSource = new SqlCountingDataSource(pool);
+        dataSource.getConnection().close();
+
+        dataSource.close();
+
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    @DisplayName("Should ignore close when the wrapped data source cannot be closed")
+    void close_IgnoresPlainDataSource() {
+        final var dataSource = new SqlCountingDataSource(new DriverManagerDataSource("jdbc:h2:mem:sql-counting-plain"));
+
+        assertDoesNotThrow(dataSource::close);
+    }
+}
@@ -0,0 +1,163 @@
+package com.hackerrank.sample.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitingFilter(2, 2, 100, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should reject the request once the client's bucket is empty")
+    void doFilter_RejectsWhenExhausted() throws Exception {
+        assertEquals(200, perform("10.0.0.1").getStatus());
+        assertEquals(200, perform("10.0.0.1").getStatus());
+
+        final var rejected = perform("10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(rejected.getContentAsString().contains("Rate limit exceeded"));
+    }
+
+    @Test
+    @DisplayName("Should count allowed and rejected requests by route")
+    void doFilter_CountsDecisionsByRoute() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            final var request = new MockHttpServletRequest("GET", "/products/42");
+            request.setRemoteAddr("10.0.0.4");
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertEquals(2, meterRegistry.get("ratelimit.requests")
+                .tags("route", "/products/{id}", "outcome", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("ratelimit.requests")
+                .tags("route", "/products/{id}", "outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should map request paths onto the product route templates")
+    void route_MapsKnownTemplates() {
+        assertEquals("/products", RateLimitingFilter.route("/products"));
+        assertEquals("/products/batch", RateLimitingFilter.route("/products/batch"));
+        assertEquals("/products/facets", RateLimitingFilter.route("/products/facets"));
+        assertEquals("/products/{id}", RateLimitingFilter.route("/products/42"));
+        assertEquals("/products/{id}/stock/reserve", RateLimitingFilter.route("/products/42/stock/reserve"));
+        assertEquals("/products/{id}/stock/release", RateLimitingFilter.route("/products/7/stock/release"));
+    }
+
+    @Test
+    @DisplayName("Should fold unknown product paths into a single other route")
+    void route_FoldsUnknownPathsIntoOther() {
+        assertEquals("other", RateLimitingFilter.route("/products/abc"));
+        assertEquals("other", RateLimitingFilter.route("/products/"));
+        assertEquals("other", RateLimitingFilter.route("/products/42/stock"));
+        assertEquals("other", RateLimitingFilter.route("/products/x/y/z"));
+        assertEquals("other", RateLimitingFilter.route("/productsfoo"));
+    }
+
+    @Test
+    @DisplayName("Should not register new counters for arbitrary request paths")
+    void doFilter_KeepsRouteTagBounded() throws Exception {
+        final var registered = meterRegistry.find("ratelimit.requests").counters().size();
+        assertEquals(RateLimitingFilter.routes().size() * 2, registered);
+
+        for (int i = 0; i < 50; i++) {
+            final var request = new MockHttpServletRequest("GET", "/products/probe-" + i + "/x");
+            request.setRemoteAddr("10.0.1." + i);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertEquals(registered, meterRegistry.find("ratelimit.requests").counters().size());
+        assertEquals(50, meterRegistry.get("ratelimit.requests")
+                .tags("route", "other", "outcome", "allowed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep the number of tracked clients under the configured cap")
+    void doFilter_CapsTrackedClients() throws Exception {
+        for (int i = 0; i < 1_000; i++) {
+            perform("10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertTrue(filter.trackedClients() <= 100);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "rateLimitBuckets").functionCounter().count() > 0);
+        assertEquals(filter.trackedClients(),
+                meterRegistry.get("cache.size").tag("cache", "rateLimitBuckets").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not track clients outside the product endpoints")
+    void doFilter_IgnoresOtherPaths() throws Exception {
+        final var request = new MockHttpServletRequest("GET", "/auth/login");
+        request.setRemoteAddr("10.0.0.2");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(0, filter.trackedClients());
+    }
+
+    @Test
+    @DisplayName("Should share one bucket between concurrent first requests from the same client")
+    void doFilter_ConcurrentFirstRequests() throws Exception {
+        // One token per minute, so no refill can land while the requests race
+        final var concurrentFilter = new RateLimitingFilter(100, 1, 100, Duration.ofMinutes(10), meterRegistry);
+        final var allowed = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 500; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    final var request = new MockHttpServletRequest("GET", "/products");
+                    request.setRemoteAddr("10.0.0.3");
+                    final var response = new MockHttpServletResponse();
+                    concurrentFilter.doFilter(request, response, new MockFilterChain());
+                    if (response.getStatus() == 200) {
+                        allowed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(100, allowed.get());
+        assertEquals(1, concurrentFilter.trackedClients());
+    }
+
+    @Test
+    @DisplayName("Should refuse a refill rate or capacity below one token")
+    void constructor_RejectsEmptyBucket() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimitingFilter(2, 0, 100, Duration.ofMinutes(10), meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimitingFilter(0, 2, 100, Duration.ofMinutes(10), meterRegistry));
+    }
+
+    private MockHttpServletResponse perform(final String clientIp) throws Exception {
+        final var request = new MockHttpServletRequest("GET", "/products");
+        request.setRemoteAddr(clientIp);
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -2,6 +2,8 @@ package com.hackerrank.sample.service;
 
 import com.hackerrank.sample.config.JwtProperties;
 import com.hackerrank.sample.exception.InvalidTokenException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,7 +11,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +40,7 @@ class JwtServiceTest {
     void setUp() {
         when(jwtProperties.secret()).thenReturn(testSecret);
         when(jwtProperties.expiration()).thenReturn(testExpiration);
+        when(jwtProperties.cacheSize()).thenReturn(100L);
 
         jwtService = new JwtService(jwtProperties);
     }
@@ -65,7 +79,7 @@ class JwtServiceTest {
     @Test
     @DisplayName("Should throw InvalidTokenException when token is signed with different key")
     void extractUsername_InvalidSignature() {
-        var otherProperties = new JwtProperties("otra_clave_totalmente_diferente_abcde_12345", 3600);
+        var otherProperties = new JwtProperties("otra_clave_totalmente_diferente_abcde_12345", 3600, 100);
         var otherService = new JwtService(otherProperties);
         var tokenFromOtherService = otherService.generateToken("admin");
 
@@ -73,4 +87,96 @@ class JwtServiceTest {
                 jwtService.extractUsername(tokenFromOtherService)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the same username when a verified token is presented again")
+    void extractUsername_CachedToken() {
+        var token = jwtService.generateToken("repeatUser");
+
+        assertEquals("repeatUser", jwtService.extractUsername(token));
+        assertEquals("repeatUser", jwtService.extractUsername(token));
+    }
+
+    @Test
+    @DisplayName("Should not cache a rejected token nor accept a tampered copy of a cached one")
+    void extractUsername_TamperedAfterCaching() {
+        var token = jwtService.generateToken("admin");
+        jwtService.extractUsername(token);
+
+        var parts = token.split("\\.");
+        var tampered = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        assertThrows(InvalidTokenException.class, () -> jwtService.extractUsername(tampered));
+        assertThrows(InvalidTokenException.class, () -> jwtService.extractUsername(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens")
+    void extractUsername_ExpiredToken() {
+        var expired = Jwts.builder()
+                .subject("admin")
+                .expiration(Date.from(Instant.now().minusSeconds(5)))
+                .signWith(Keys.hmacShaKeyFor(testSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(InvalidTokenException.class, () -> jwtService.extractUsername(expired));
+    }
+
+    @Test
+    @DisplayName("Should skip signature verification when a verified token is presented again")
+    void extractUsername_CacheHitSkipsParser() {
+        var service = spy(jwtService);
+        var token = service.generateToken("repeatUser");
+
+        service.extractUsername(token);
+        service.extractUsername(token);
+        service.extractUsername(token);
+
+        verify(service, times(1)).parseClaims(token);
+    }
+
+    @Test
+    @DisplayName("Should reject a cached token once its expiration has passed")
+    void extractUsername_CachedTokenExpires() {
+        var clock = new MutableClock(Instant.now());
+        var service = spy(new JwtService(jwtProperties, clock));
+        var token = service.generateToken("shortLived");
+        service.extractUsername(token);
+
+        clock.advance(Duration.ofSeconds(testExpiration - 1));
+        assertEquals("shortLived", service.extractUsername(token));
+        verify(service, times(1)).parseClaims(token);
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThrows(InvalidTokenException.class, () -> service.extractUsername(token));
+        verify(service, times(2)).parseClaims(token);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
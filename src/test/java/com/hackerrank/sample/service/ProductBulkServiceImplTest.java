@@ -0,0 +1,248 @@
+package com.hackerrank.sample.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.dto.BatchItemResult.Status;
+import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.model.Product;
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductBatchRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBulkServiceImplTest {
+
+    @Mock
+    private ProductBatchRepository productBatchRepository;
+
+    @Mock
+    private ProductFacetCounters facetCounters;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBulkServiceImpl bulkService;
+
+    @BeforeEach
+    void setUp() {
+        final var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        bulkService = new ProductBulkServiceImpl(
+                productBatchRepository, facetCounters, validator, transactionManager, new ObjectMapper(), 2, 5);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("BULK-01: Valid items are written in chunks and invalid ones are reported")
+    void createProducts_ChunksAndValidation() {
+        final var requests = List.of(request("A"), request(""), request("B"), request("C"));
+        when(productBatchRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> idsFor(invocation.getArgument(0), 10L))
+                .thenAnswer(invocation -> idsFor(invocation.getArgument(0), 20L));
+
+        final var response = bulkService.createProducts(requests);
+
+        verify(productBatchRepository, times(2)).insertAll(anyList());
+        verify(facetCounters, times(3)).record(isNull(), any());
+        assertAll(
+                () -> assertEquals(4, response.received()),
+                () -> assertEquals(3, response.created()),
+                () -> assertEquals(10L, response.results().get(0).id()),
+                () -> assertEquals(Status.INVALID, response.results().get(1).status()),
+                () -> assertTrue(response.results().get(1).error().contains("title")),
+                () -> assertEquals(11L, response.results().get(2).id()),
+                () -> assertEquals(20L, response.results().get(3).id())
+        );
+    }
+
+    @Test
+    @DisplayName("BULK-02: A storage failure only rejects the items of its chunk")
+    void createProducts_ChunkFailure() {
+        when(productBatchRepository.insertAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("boom"))
+                .thenAnswer(invocation -> idsFor(invocation.getArgument(0), 1L));
+
+        final var response = bulkService.createProducts(List.of(request("A"), request("B"), request("C")));
+
+        assertAll(
+                () -> assertEquals(Status.FAILED, response.results().get(0).status()),
+                () -> assertEquals(Status.FAILED, response.results().get(1).status()),
+                () -> assertEquals(Status.CREATED, response.results().get(2).status()),
+                () -> assertEquals(1, response.created())
+        );
+    }
+
+    @Test
+    @DisplayName("BULK-03: Oversized batches are rejected before touching the database")
+    void createProducts_TooManyItems() {
+        final var requests = IntStream.range(0, 6).mapToObj(i -> request("P" + i)).toList();
+
+        assertThrows(BadResourceRequestException.class, () -> bulkService.createProducts(requests));
+        verifyNoInteractions(productBatchRepository);
+    }
+
+    @Test
+    @DisplayName("BULK-04: Export writes one JSON document per product and line")
+    void exportProducts_WritesNdjson() throws Exception {
+        final var first = Product.builder().id(1L).title("A").imageUrls(List.of("https://cdn.example.com/a.jpg")).build();
+        final var second = Product.builder().id(2L).title("B").build();
+        doAnswer(invocation -> {
+            final Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(productBatchRepository).streamAll(any());
+
+        final var output = new ByteArrayOutputStream();
+        bulkService.exportProducts(output);
+
+        final var mapper = new ObjectMapper();
+        assertEquals(mapper.writeValueAsString(ProductServiceImpl.mapToResponse(first)) + "\n"
+                        + mapper.writeValueAsString(ProductServiceImpl.mapToResponse(second)) + "\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("BULK-05: NDJSON import reports rejected lines by number and streams progress per chunk")
+    void importProducts_Ndjson() throws Exception {
+        when(productBatchRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> idsFor(invocation.getArgument(0), 1L));
+        final var upload = String.join("\n",
+                json("A"),
+                "",
+                json(""),
+                "{not json",
+                json("B"),
+                "{\"title\":\"C\",\"price\":\"cheap\"}",
+                json("D"));
+
+        final var report = importReport(upload, ProductBulkService.ImportFormat.NDJSON);
+
+        verify(productBatchRepository, times(2)).insertAll(anyList());
+        assertAll(
+                () -> assertEquals(3, report.get(0).get("index").asLong()),
+                () -> assertTrue(report.get(0).get("error").asText().startsWith("title")),
+                () -> assertEquals(4, report.get(1).get("index").asLong()),
+                () -> assertEquals("Malformed record", report.get(1).get("error").asText()),
+                () -> assertEquals(2, report.get(2).get("created").asLong()),
+                () -> assertEquals(6, report.get(3).get("index").asLong()),
+                () -> assertEquals("price: Unreadable value", report.get(3).get("error").asText()),
+                () -> assertEquals(3, report.get(4).get("created").asLong()),
+                () -> assertEquals(6, report.get(5).get("processed").asLong()),
+                () -> assertTrue(report.get(5).get("completed").asBoolean())
+        );
+    }
+
+    @Test
+    @DisplayName("BULK-06: CSV import maps columns by header and splits the image gallery")
+    void importProducts_Csv() throws Exception {
+        final List<ProductRequest> written = new ArrayList<>();
+        when(productBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            final List<ProductRequest> chunk = invocation.getArgument(0);
+            written.addAll(chunk);
+            return idsFor(chunk, 1L);
+        });
+        final var upload = """
+                title,price,stock,condition,imageUrls,sellerName,shippingCost,estimatedDelivery,unknown
+                "Phone, 128GB",499.99,5,NEW,https://cdn.example.com/a.jpg|https://cdn.example.com/b.jpg,Store,0,Tomorrow,x
+                Laptop,1200,1,BROKEN,,Store,0,Tomorrow,x
+                ,10,1,USED,,Store,0,Tomorrow,x
+                """;
+
+        final var report = importReport(upload, ProductBulkService.ImportFormat.CSV);
+
+        assertAll(
+                () -> assertEquals(1, written.size()),
+                () -> assertEquals("Phone, 128GB", written.get(0).title()),
+                () -> assertEquals(new BigDecimal("499.99"), written.get(0).price()),
+                () -> assertEquals(List.of("https://cdn.example.com/a.jpg", "https://cdn.example.com/b.jpg"),
+                        written.get(0).imageUrls()),
+                () -> assertEquals(3, report.get(0).get("index").asLong()),
+                () -> assertEquals("condition: Unreadable value", report.get(0).get("error").asText()),
+                () -> assertEquals(4, report.get(1).get("index").asLong()),
+                () -> assertTrue(report.get(1).get("error").asText().contains("title")),
+                () -> assertEquals(1, report.get(report.size() - 1).get("created").asLong()),
+                () -> assertEquals(2, report.get(report.size() - 1).get("rejected").asLong())
+        );
+    }
+
+    @Test
+    @DisplayName("BULK-07: A structurally broken CSV row is reported and ends the import")
+    void importProducts_BrokenCsv() throws Exception {
+        final var upload = """
+                title,price,stock,condition,sellerName,shippingCost,estimatedDelivery
+                "Unclosed,10,1,NEW,Store,0,Tomorrow
+                """;
+
+        final var report = importReport(upload, ProductBulkService.ImportFormat.CSV);
+
+        verifyNoInteractions(productBatchRepository);
+        assertAll(
+                () -> assertEquals(2, report.size()),
+                () -> assertTrue(report.get(0).get("error").asText().startsWith("Malformed CSV")),
+                () -> assertEquals(1, report.get(1).get("rejected").asLong())
+        );
+    }
+
+    @Test
+    @DisplayName("BULK-08: A null body is rejected before touching the database")
+    void createProducts_NullBody() {
+        assertThrows(BadResourceRequestException.class, () -> bulkService.createProducts(null));
+        verifyNoInteractions(productBatchRepository);
+    }
+
+    private List<Long> idsFor(final List<?> chunk, final long firstId) {
+        final var ids = new ArrayList<Long>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ids.add(firstId + i);
+        }
+        return ids;
+    }
+
+    private List<JsonNode> importReport(final String upload, final ProductBulkService.ImportFormat format)
+            throws Exception {
+        final var output = new ByteArrayOutputStream();
+        bulkService.importProducts(new StringReader(upload), format, output);
+
+        final var mapper = new ObjectMapper();
+        final var report = new ArrayList<JsonNode>();
+        for (final var line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            report.add(mapper.readTree(line));
+        }
+        return report;
+    }
+
+    private String json(final String title) throws Exception {
+        return new ObjectMapper().writeValueAsString(request(title));
+    }
+
+    private ProductRequest request(final String title) {
+        return new ProductRequest(
+                title, "Description", new BigDecimal("10.00"), 1, Condition.NEW, List.of(),
+                "Store", 4.5, BigDecimal.ZERO, "Tomorrow"
+        );
+    }
+}
@@ -0,0 +1,105 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.model.Product.Condition;
+import com.hackerrank.sample.repository.ProductRepository;
+import com.hackerrank.sample.repository.ProductRepository.FacetCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFacetCountersTest {
+
+    private static final ProductFacetCounters.Key CHEAP_NEW = key(Condition.NEW, "Store A", "9.99");
+    private static final ProductFacetCounters.Key MID_USED = key(Condition.USED, "Store B", "10.00");
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductFacetCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counters = new ProductFacetCounters(productRepository,
+                List.of(new BigDecimal("50"), new BigDecimal("10.00")), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("FACET-01: Creations, updates and deletions move counts between facet values")
+    void record_AdjustsCounts() {
+        counters.record(null, CHEAP_NEW);
+        counters.record(null, CHEAP_NEW);
+        counters.record(CHEAP_NEW, MID_USED);
+        counters.record(null, key(Condition.NEW, "Store A", "75"));
+        counters.record(CHEAP_NEW, null);
+
+        final var facets = counters.snapshot();
+
+        assertAll(
+                () -> assertEquals(Map.of(Condition.NEW, 1L, Condition.USED, 1L), facets.conditions()),
+                () -> assertEquals(Map.of("Store A", 1L, "Store B", 1L), facets.sellers()),
+                () -> assertEquals(List.of("10-50", "50-*"), List.copyOf(facets.priceRanges().keySet())),
+                () -> assertNull(facets.reconciledAt())
+        );
+    }
+
+    @Test
+    @DisplayName("FACET-02: Inside a transaction counts change only after commit")
+    void record_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.record(null, CHEAP_NEW);
+            assertTrue(counters.snapshot().conditions().isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Map.of("*-10", 1L), counters.snapshot().priceRanges());
+    }
+
+    @Test
+    @DisplayName("FACET-03: Reconciliation replaces drifted counts and reports the correction")
+    void reconcile_CorrectsDrift() {
+        counters.record(null, CHEAP_NEW);
+        when(productRepository.countPerCondition()).thenReturn(List.of(new Row<>(Condition.USED, 2)));
+        when(productRepository.countPerSeller()).thenReturn(List.of(new Row<>("Store B", 2)));
+        when(productRepository.countByPriceLessThan(new BigDecimal("10.00"))).thenReturn(0L);
+        when(productRepository.countByPriceLessThan(new BigDecimal("50"))).thenReturn(2L);
+        when(productRepository.count()).thenReturn(2L);
+
+        counters.reconcile();
+        final var facets = counters.snapshot();
+
+        assertAll(
+                () -> assertEquals(Map.of(Condition.USED, 2L), facets.conditions()),
+                () -> assertEquals(Map.of("Store B", 2L), facets.sellers()),
+                () -> assertEquals(Map.of("10-50", 2L), facets.priceRanges()),
+                () -> assertNotNull(facets.reconciledAt()),
+                () -> assertEquals(9, meterRegistry.get("products.facets.corrections").counter().count())
+        );
+    }
+
+    private static ProductFacetCounters.Key key(final Condition condition, final String seller, final String price) {
+        return new ProductFacetCounters.Key(condition, seller, new BigDecimal(price));
+    }
+
+    private record Row<T>(T getValue, long getTotal) implements FacetCount<T> {
+    }
+}
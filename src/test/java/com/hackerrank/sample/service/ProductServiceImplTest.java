@@ -1,10 +1,19 @@
 package com.hackerrank.sample.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.dto.ProductFilter;
 import com.hackerrank.sample.dto.ProductRequest;
+import com.hackerrank.sample.dto.ProductResponse;
+import com.hackerrank.sample.dto.StockLevel;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.InsufficientStockException;
 import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.exception.PreconditionFailedException;
 import com.hackerrank.sample.model.Product;
 import com.hackerrank.sample.model.Product.Condition;
 import com.hackerrank.sample.repository.ProductRepository;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,14 +24,28 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,11 +54,22 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductFacetCounters facetCounters;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private ProductServiceImpl productService;
 
     @BeforeEach
     void setUp() {
-        productService = new ProductServiceImpl(productRepository);
+        productService = new ProductServiceImpl(productRepository, facetCounters, stockLedger, transactionManager,
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), 100);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
     }
 
     @Nested
@@ -58,6 +92,7 @@ class ProductServiceImplTest {
                     () -> assertEquals(request.sellerName(), response.seller().name()),
                     () -> assertEquals(request.shippingCost(), response.shipping().cost())
             );
+            verify(facetCounters).record(null, ProductFacetCounters.Key.of(productEntity));
         }
 
         @Test
@@ -105,6 +140,45 @@ class ProductServiceImplTest {
             when(productRepository.findById(anyLong())).thenReturn(Optional.empty());
             assertThrows(NoSuchResourceFoundException.class, () -> productService.getProductById(999L));
         }
+
+        @Test
+        @DisplayName("CP-31: The cached payload holds the JSON the converter would write and its gzip copy")
+        void getProductPayload_RendersBodies() throws Exception {
+            final var product = mapToMockEntity(createFullRequest("iPhone 15", "1000.00"), 10L);
+            when(productRepository.findById(10L)).thenReturn(Optional.of(product));
+            final var mapper = new ObjectMapper();
+
+            final var payload = productService.getProductPayload(10L);
+
+            try (var gzip = new GZIPInputStream(new ByteArrayInputStream(payload.gzip()))) {
+                assertArrayEquals(payload.json(), gzip.readAllBytes());
+            }
+            assertArrayEquals(mapper.writeValueAsBytes(payload.product()), payload.json());
+            assertEquals("iPhone 15", mapper.readTree(payload.json()).get("title").asText());
+        }
+
+        @Test
+        @DisplayName("CP-32: Multi-get returns products in request order and reports missing ids")
+        void getProductsByIds_RequestOrder() {
+            final var first = mapToMockEntity(createFullRequest("Laptop", "1500.00"), 1L);
+            final var third = mapToMockEntity(createFullRequest("Mouse", "25.00"), 3L);
+            when(productRepository.findByIdIn(any())).thenReturn(List.of(first, third));
+
+            final var response = productService.getProductsByIds(List.of(3L, 9L, 1L, 3L));
+
+            assertEquals(List.of(3L, 1L), response.products().stream().map(ProductResponse::id).toList());
+            assertEquals(List.of(9L), response.missingIds());
+            verify(productRepository).findByIdIn(new LinkedHashSet<>(List.of(3L, 9L, 1L)));
+        }
+
+        @Test
+        @DisplayName("CP-33: Multi-get rejects more ids than allowed without querying")
+        void getProductsByIds_TooMany() {
+            final var ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+            assertThrows(BadResourceRequestException.class, () -> productService.getProductsByIds(ids));
+            verifyNoInteractions(productRepository);
+        }
     }
 
     @Nested
@@ -114,19 +188,158 @@ class ProductServiceImplTest {
         @DisplayName("CP-10: Full update success including nested fields")
         void updateProduct_Success() {
             final var targetId = 1L;
-            final var existingProduct = Product.builder().id(targetId).title("Old").build();
+            final var existingProduct = Product.builder().id(targetId).title("Old")
+                    .price(new BigDecimal("20.00")).condition(Condition.USED).sellerName("Old Store").build();
             final var updateRequest = createFullRequest("New Name", "1500.00");
 
             when(productRepository.findById(targetId)).thenReturn(Optional.of(existingProduct));
-            when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArguments()[0]);
+            when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(i -> i.getArguments()[0]);
 
-            final var response = productService.updateProduct(targetId, updateRequest);
+            final var response = productService.updateProduct(targetId, updateRequest, null);
 
             assertAll(
                     () -> assertEquals("New Name", response.title()),
                     () -> assertEquals("Apple Store", response.seller().name()),
                     () -> assertEquals(new BigDecimal("1500.00"), response.price())
             );
+            verify(facetCounters).record(
+                    new ProductFacetCounters.Key(Condition.USED, "Old Store", new BigDecimal("20.00")),
+                    new ProductFacetCounters.Key(Condition.NEW, "Apple Store", new BigDecimal("1500.00")));
+        }
+
+        @Test
+        @DisplayName("CP-20: Update with a stale expected version is rejected before writing")
+        void updateProduct_StaleVersion() {
+            final var existingProduct = Product.builder().id(1L).title("Old").version(4L).build();
+            when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
+
+            assertThrows(PreconditionFailedException.class,
+                    () -> productService.updateProduct(1L, createFullRequest("New Name", "1500.00"), 3L));
+            verify(productRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("CP-23: Merge patch changes only the given fields and keeps the gallery instance")
+        void patchProduct_OnlyChangedFields() throws Exception {
+            final var existingProduct = mapToMockEntity(createFullRequest("iPhone 15", "1000.00"), 1L);
+            final var gallery = existingProduct.getImageUrls();
+            when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
+            when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(i -> i.getArguments()[0]);
+
+            final var response = productService.patchProduct(1L,
+                    new ObjectMapper().readTree("{\"stock\": 3, \"description\": null, \"price\": 1000}"), null);
+
+            assertAll(
+                    () -> assertEquals(3, response.stock()),
+                    () -> assertNull(response.description()),
+                    () -> assertEquals("iPhone 15", response.title()),
+                    () -> assertEquals(new BigDecimal("1000.00"), existingProduct.getPrice()),
+                    () -> assertSame(gallery, existingProduct.getImageUrls())
+            );
+            verify(facetCounters).record(ProductFacetCounters.Key.of(existingProduct),
+                    ProductFacetCounters.Key.of(existingProduct));
+        }
+
+        @Test
+        @DisplayName("CP-24: Merge patch producing an invalid product is rejected before writing")
+        void patchProduct_InvalidResult() throws Exception {
+            final var existingProduct = mapToMockEntity(createFullRequest("iPhone 15", "1000.00"), 1L);
+            when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
+            final var patch = new ObjectMapper().readTree("{\"stock\": -1, \"title\": null}");
+
+            final var exception = assertThrows(ConstraintViolationException.class,
+                    () -> productService.patchProduct(1L, patch, null));
+
+            assertEquals(2, exception.getConstraintViolations().size());
+            assertEquals(10, existingProduct.getStock());
+            verify(productRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("CP-25: A merge patch that is not a JSON object is rejected")
+        void patchProduct_NotAnObject() throws Exception {
+            final var patch = new ObjectMapper().readTree("[{\"stock\": 1}]");
+
+            assertThrows(BadResourceRequestException.class, () -> productService.patchProduct(1L, patch, null));
+            verifyNoInteractions(productRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Stock Reservation Tests")
+    class StockTests {
+        @Test
+        @DisplayName("CP-26: Reservation is a single conditional update followed by reading the remaining stock")
+        void reserveStock_Success() {
+            when(productRepository.reserveStock(1L, 2)).thenReturn(1);
+            when(productRepository.findStockById(1L)).thenReturn(Optional.of(8));
+
+            final var level = productService.reserveStock(1L, 2);
+
+            assertEquals(8, level.stock());
+            verify(productRepository, never()).findById(any());
+            verify(productRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("CP-27: Reservation beyond the available stock is a conflict")
+        void reserveStock_Insufficient() {
+            when(productRepository.reserveStock(1L, 5)).thenReturn(0);
+            when(productRepository.existsById(1L)).thenReturn(true);
+
+            assertThrows(InsufficientStockException.class, () -> productService.reserveStock(1L, 5));
+        }
+
+        @Test
+        @DisplayName("CP-28: Reserving or releasing stock of a missing product is not found")
+        void stock_ProductNotFound() {
+            when(productRepository.reserveStock(9L, 1)).thenReturn(0);
+            when(productRepository.existsById(9L)).thenReturn(false);
+            when(productRepository.releaseStock(9L, 1)).thenReturn(0);
+
+            assertThrows(NoSuchResourceFoundException.class, () -> productService.reserveStock(9L, 1));
+            assertThrows(NoSuchResourceFoundException.class, () -> productService.releaseStock(9L, 1));
+        }
+
+        @Test
+        @DisplayName("CP-34: Releasing stock past the int range is rejected instead of overflowing")
+        void releaseStock_Overflow() {
+            when(productRepository.releaseStock(1L, Integer.MAX_VALUE)).thenReturn(0);
+            when(productRepository.existsById(1L)).thenReturn(true);
+
+            assertThrows(BadResourceRequestException.class, () -> productService.releaseStock(1L, Integer.MAX_VALUE));
+        }
+
+        @Test
+        @DisplayName("CP-29: Hot products reserve from the ledger without opening a transaction")
+        void reserveStock_HotProduct() {
+            when(stockLedger.isHot(1L)).thenReturn(true);
+            when(stockLedger.reserve(1L, 2)).thenReturn(new StockLevel(1L, 98));
+
+            final var level = productService.reserveStock(1L, 2);
+
+            assertEquals(98, level.stock());
+            verifyNoInteractions(productRepository, transactionManager);
+        }
+
+        @Test
+        @DisplayName("CP-30: An absolute stock write to a hot product is refused, other fields still update")
+        void updateProduct_HotProductStock() {
+            final var existingProduct = mapToMockEntity(createFullRequest("iPhone 15", "1000.00"), 1L);
+            when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
+            when(stockLedger.isHot(1L)).thenReturn(true);
+            final var stockChange = new ProductRequest("iPhone 15", "Full Description", new BigDecimal("1000.00"),
+                    500, Condition.NEW, List.of("http://image.com"), "Apple Store", 4.8,
+                    new BigDecimal("10.00"), "3 days");
+
+            assertThrows(BadResourceRequestException.class,
+                    () -> productService.updateProduct(1L, stockChange, null));
+            verify(productRepository, never()).saveAndFlush(any());
+
+            when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(i -> i.getArguments()[0]);
+            final var response = productService.updateProduct(1L, createFullRequest("iPhone 15 Pro", "1000.00"), null);
+
+            assertEquals("iPhone 15 Pro", response.title());
         }
     }
 
@@ -136,9 +349,14 @@ class ProductServiceImplTest {
         @Test
         @DisplayName("CP-14: Deletion success")
         void deleteProduct_Success() {
-            when(productRepository.existsById(1L)).thenReturn(true);
+            final var product = mapToMockEntity(createFullRequest("iPhone 15", "1000.00"), 1L);
+            when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
             productService.deleteProductById(1L);
-            verify(productRepository, times(1)).deleteById(1L);
+
+            verify(productRepository, times(1)).delete(product);
+            verify(facetCounters).record(ProductFacetCounters.Key.of(product), null);
+            verify(stockLedger).forget(1L);
         }
 
         @Test
@@ -146,6 +364,8 @@ class ProductServiceImplTest {
         void deleteAll_Success() {
             productService.deleteAllProducts();
             verify(productRepository, times(1)).deleteAllInBatch();
+            verify(facetCounters).clear();
+            verify(stockLedger).forgetAll();
         }
     }
 
@@ -162,14 +382,71 @@ class ProductServiceImplTest {
                     .build();
 
             final var page = new PageImpl<>(List.of(product));
-            when(productRepository.findAll(any(Pageable.class))).thenReturn(page);
+            when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
 
-            final var results = productService.getAllProducts(PageRequest.of(0, 10));
+            final var results = productService.getAllProducts(ProductFilter.none(), PageRequest.of(0, 10));
 
             final var item = results.content().get(0);
             assertEquals("Meli Store", item.seller().name());
             assertEquals(BigDecimal.ZERO, item.shipping().cost());
         }
+
+        @Test
+        @DisplayName("CP-18: Cursor page seeks past the decoded keyset and returns the next cursor")
+        void getProductsAfter_ReturnsNextCursor() {
+            final var sort = Sort.by("price");
+            final var first = Product.builder().id(4L).price(new BigDecimal("25.50")).build();
+            final var window = Window.from(List.of(first),
+                    i -> ScrollPosition.forward(Map.of("price", new BigDecimal("25.50"), "id", 4L)), true);
+            final var cursor = ProductCursor.encode(ScrollPosition.forward(Map.of("price", BigDecimal.TEN, "id", 2L)));
+
+            final FetchableFluentQuery<Product> query = mock(FetchableFluentQuery.class, RETURNS_SELF);
+            when(query.scroll(any())).thenReturn(window);
+            when(productRepository.findBy(any(Specification.class), any())).thenAnswer(invocation -> {
+                final Function<FetchableFluentQuery<Product>, ?> queryFunction = invocation.getArgument(1);
+                return queryFunction.apply(query);
+            });
+
+            final var results = productService.getProductsAfter(cursor, 1, sort, ProductFilter.none());
+
+            verify(query).sortBy(sort);
+            verify(query).limit(1);
+            verify(query).scroll(ScrollPosition.forward(Map.of("price", BigDecimal.TEN, "id", 2L)));
+            verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+            assertAll(
+                    () -> assertEquals(4L, results.content().get(0).id()),
+                    () -> assertTrue(results.hasNext()),
+                    () -> assertEquals(ScrollPosition.forward(Map.of("price", new BigDecimal("25.50"), "id", 4L)),
+                            ProductCursor.decode(results.nextCursor(), sort))
+            );
+        }
+
+        @Test
+        @DisplayName("CP-19: Cursor issued for another sort is rejected")
+        void getProductsAfter_SortMismatch() {
+            final var cursor = ProductCursor.encode(ScrollPosition.forward(Map.of("id", 2L)));
+
+            assertThrows(BadResourceRequestException.class,
+                    () -> productService.getProductsAfter(cursor, 10, Sort.by("price"), ProductFilter.none()));
+        }
+
+        @Test
+        @DisplayName("CP-21: Sorting by a field outside the indexed allowlist is rejected")
+        void getAllProducts_UnindexedSort() {
+            assertThrows(BadResourceRequestException.class,
+                    () -> productService.getAllProducts(ProductFilter.none(), PageRequest.of(0, 10, Sort.by("description"))));
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("CP-22: An inverted price range is rejected")
+        void getAllProducts_InvertedPriceRange() {
+            final var filter = new ProductFilter(BigDecimal.TEN, BigDecimal.ONE, null, null, null);
+
+            assertThrows(BadResourceRequestException.class,
+                    () -> productService.getAllProducts(filter, PageRequest.of(0, 10)));
+            verifyNoInteractions(productRepository);
+        }
     }
 
     // Helper methods for cleaner tests
@@ -0,0 +1,231 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.config.CacheConfig;
+import com.hackerrank.sample.config.StockLedgerProperties;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.InsufficientStockException;
+import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.repository.ProductBatchRepository;
+import com.hackerrank.sample.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductBatchRepository productBatchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS_CACHE);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("LEDGER-01: 1000 parallel reservers take exactly the available units and never go negative")
+    void reserve_NeverOversells() throws Exception {
+        final var ledger = ledger(1_000_000);
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(250));
+        final var reserved = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final var results = new ArrayList<Future<?>>();
+
+        try (var executor = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < 1_000; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        ledger.reserve(1L, 1);
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException ignored) {
+                        // sold out
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var result : results) {
+                result.get();
+            }
+        }
+
+        assertEquals(250, reserved.get());
+        assertThrows(InsufficientStockException.class, () -> ledger.reserve(1L, 1));
+        assertEquals(-250.0, meterRegistry.get("products.stock.ledger.pending").gauge().value());
+        verify(productRepository, atLeast(1)).findStockById(1L);
+    }
+
+    @Test
+    @DisplayName("LEDGER-02: A reservation larger than any single stripe gathers units from several")
+    void reserve_GathersAcrossStripes() {
+        final var ledger = ledger(1_000_000);
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        when(productRepository.findStockById(9L)).thenReturn(Optional.empty());
+
+        assertEquals(0, ledger.reserve(1L, 10).stock());
+        assertThrows(InsufficientStockException.class, () -> ledger.reserve(1L, 1));
+        assertEquals(3, ledger.release(1L, 3).stock());
+        assertThrows(NoSuchResourceFoundException.class, () -> ledger.reserve(9L, 1));
+    }
+
+    @Test
+    @DisplayName("LEDGER-03: Flush writes the net delta once; a failed flush keeps it pending")
+    void flush_WritesNetDelta() {
+        final var ledger = ledger(1_000_000);
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        ledger.reserve(1L, 4);
+        ledger.release(1L, 1);
+        when(productBatchRepository.addStock(any()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[]{1});
+
+        ledger.flush();
+        assertEquals(-3.0, meterRegistry.get("products.stock.ledger.pending").gauge().value());
+
+        ledger.flush();
+        ledger.flush();
+
+        verify(productBatchRepository, times(2)).addStock(List.of(Map.entry(1L, -3L)));
+        assertAll(
+                () -> assertEquals(0.0, meterRegistry.get("products.stock.ledger.pending").gauge().value()),
+                () -> assertEquals(1.0, meterRegistry.get("products.stock.ledger.flushes").counter().count()),
+                () -> assertEquals(1.0, meterRegistry.get("products.stock.ledger.flush.failures").counter().count())
+        );
+    }
+
+    @Test
+    @DisplayName("LEDGER-04: Reaching the crash-loss window queues one flush off the request thread")
+    void reserve_FlushesAtCrashLossWindow() {
+        final var ledger = ledger(5);
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        when(productBatchRepository.addStock(any())).thenReturn(new int[]{1});
+
+        ledger.reserve(1L, 4);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+        ledger.reserve(1L, 1);
+        ledger.reserve(1L, 1);
+        final var flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(flush.capture(), any(Instant.class));
+        verifyNoInteractions(productBatchRepository);
+
+        flush.getValue().run();
+        verify(productBatchRepository).addStock(eq(List.of(Map.entry(1L, -6L))));
+    }
+
+    @Test
+    @DisplayName("LEDGER-05: A product gone from the database is dropped from the ledger on flush")
+    void flush_ForgetsDeletedProducts() {
+        final var ledger = ledger(1_000_000);
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        when(productBatchRepository.addStock(any())).thenReturn(new int[]{0});
+        ledger.reserve(1L, 1);
+
+        ledger.flush();
+
+        assertNull(meterRegistry.find("products.stock.ledger.pending").gauge());
+        ledger.reserve(1L, 1);
+        verify(productRepository, times(2)).findStockById(1L);
+    }
+
+    @Test
+    @DisplayName("LEDGER-06: A release that would overflow the stock column is refused and leaves no delta")
+    void release_RefusesOverflow() {
+        final var ledger = ledger(1_000_000);
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(Integer.MAX_VALUE - 1));
+
+        assertThrows(BadResourceRequestException.class, () -> ledger.release(1L, 2));
+        assertEquals(Integer.MAX_VALUE, ledger.release(1L, 1).stock());
+        assertEquals(1.0, meterRegistry.get("products.stock.ledger.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("LEDGER-07: A flush whose transaction cannot start keeps the deltas pending")
+    void flush_KeepsDeltasWhenTransactionFails() {
+        final var ledger = ledger(1_000_000);
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        ledger.reserve(1L, 2);
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("pool exhausted"));
+
+        ledger.flush();
+
+        verifyNoInteractions(productBatchRepository);
+        assertEquals(-2.0, meterRegistry.get("products.stock.ledger.pending").gauge().value());
+        assertEquals(1.0, meterRegistry.get("products.stock.ledger.flush.failures").counter().count());
+    }
+
+    @Test
+    @DisplayName("LEDGER-08: Only a committed flush evicts the flushed products from the product cache")
+    void flush_EvictsCachedProducts() {
+        final var ledger = ledger(1_000_000);
+        final var cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        when(productBatchRepository.addStock(any()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[]{1});
+        ledger.reserve(1L, 1);
+        cache.put(1L, "stale payload");
+        cache.put(2L, "untouched payload");
+
+        ledger.flush();
+        assertNotNull(cache.get(1L));
+
+        ledger.flush();
+        assertAll(
+                () -> assertNull(cache.get(1L)),
+                () -> assertNotNull(cache.get(2L))
+        );
+    }
+
+    private StockLedger ledger(final long crashLossWindow) {
+        final var properties = new StockLedgerProperties(Set.of(1L), Duration.ofSeconds(1), crashLossWindow, 4);
+        final var ledger = new StockLedger(productRepository, productBatchRepository, transactionManager,
+                properties, taskScheduler, cacheManager, meterRegistry);
+        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofSeconds(1)));
+        return ledger;
+    }
+}